@@ -1,6 +1,15 @@
 package com.archeinteractive.dev.commonutils;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import com.archeinteractive.dev.commonutils.command.CommandController;
+import com.archeinteractive.dev.commonutils.command.MetricsCommand;
+import com.archeinteractive.dev.commonutils.network.AsyncUUIDFetcher;
+import com.archeinteractive.dev.commonutils.network.UUIDCache;
 import com.archeinteractive.dev.commonutils.network.packets.PacketListener;
+import com.archeinteractive.dev.commonutils.reflection.PlayerConnectionCache;
 
 import org.bukkit.plugin.java.JavaPlugin;
 
@@ -11,10 +20,23 @@ public class CommonUtils extends JavaPlugin {
     private static CommonUtils plugin;
     private static MenuAPI menuAPI;
     private static PacketListener packetListener;
+    private static UUIDCache uuidCache;
+    private static AsyncUUIDFetcher uuidFetcher;
 
     public void onEnable() {
         plugin = this;
         menuAPI = new MenuAPI(this);
+        new PlayerConnectionCache(this);
+        CommandController.registerCommands(this, new MetricsCommand());
+        uuidCache = new UUIDCache(10000, TimeUnit.DAYS.toMillis(1), TimeUnit.HOURS.toMillis(1));
+
+        try {
+            uuidCache.load(getUUIDCacheFile());
+        } catch (IOException e) {
+            getLogger().warning("Could not load the UUID cache: " + e.getMessage());
+        }
+
+        uuidFetcher = new AsyncUUIDFetcher();
 
         if (getServer().getPluginManager().getPlugin("ProtocolLib") != null) {
             packetListener = new PacketListener(this);
@@ -25,6 +47,25 @@ public class CommonUtils extends JavaPlugin {
         }
     }
 
+    public void onDisable() {
+        if (uuidFetcher != null) {
+            uuidFetcher.shutdown();
+            uuidFetcher = null;
+        }
+
+        if (uuidCache != null) {
+            try {
+                uuidCache.save(getUUIDCacheFile());
+            } catch (IOException e) {
+                getLogger().warning("Could not save the UUID cache: " + e.getMessage());
+            }
+        }
+    }
+
+    private File getUUIDCacheFile() {
+        return new File(getDataFolder(), "uuids.dat");
+    }
+
     public static CommonUtils getPlugin() {
         return plugin;
     }
@@ -33,6 +74,14 @@ public class CommonUtils extends JavaPlugin {
         return menuAPI;
     }
 
+    public static UUIDCache getUUIDCache() {
+        return uuidCache;
+    }
+
+    public static AsyncUUIDFetcher getUUIDFetcher() {
+        return uuidFetcher;
+    }
+
     public static PacketListener getPacketListener() {
         return packetListener;
     }
@@ -7,6 +7,7 @@ import org.bukkit.Location;
 import org.bukkit.World;
 
 import com.archeinteractive.dev.commonutils.bossbar.BarDragon;
+import com.archeinteractive.dev.commonutils.network.packets.PacketAccessor;
 import com.archeinteractive.dev.commonutils.reflection.CommonReflection;
 import com.archeinteractive.dev.commonutils.reflection.EntityHandler;
 import com.archeinteractive.dev.commonutils.reflection.MethodBuilder;
@@ -17,6 +18,8 @@ import com.archeinteractive.dev.commonutils.reflection.VersionHandler;
  */
 public class Dragon extends BarDragon {
 
+    private static final PacketAccessor entityDestroy = new PacketAccessor("PacketPlayOutEntityDestroy", "a");
+
     private Object dragon;
     private int id;
 
@@ -73,23 +76,7 @@ public class Dragon extends BarDragon {
 
     @Override
     public Object getDestroyPacket() {
-        Class<?> PacketPlayOutEntityDestroy = VersionHandler.getNMSClass("PacketPlayOutEntityDestroy");
-        Object packet = null;
-
-        try {
-            packet = PacketPlayOutEntityDestroy.newInstance();
-            Field a = PacketPlayOutEntityDestroy.getDeclaredField("a");
-            a.setAccessible(true);
-            a.set(packet, new int[] { id });
-        } catch (InstantiationException e) {
-            e.printStackTrace();
-        } catch (IllegalAccessException e) {
-            e.printStackTrace();
-        } catch (NoSuchFieldException e) {
-            e.printStackTrace();
-        }
-
-        return packet;
+        return entityDestroy.create(new int[] { id });
     }
 
     @Override
@@ -0,0 +1,20 @@
+package com.archeinteractive.dev.commonutils.command;
+
+/**
+ * A functional interface for turning a single command argument into a
+ * typed value. Parsers are registered with {@link ArgumentParsers} and
+ * are used for handler methods that take typed parameters instead of a
+ * <code>String[]</code>.
+ *
+ * @param <T> The type of value produced.
+ */
+public interface ArgumentParser<T> {
+
+    /**
+     * Parse the given argument.
+     *
+     * @param arg The argument, as typed by the sender.
+     * @return The parsed value, or <b>null</b> if the argument is not valid.
+     */
+    public T parse(String arg);
+}
@@ -0,0 +1,160 @@
+package com.archeinteractive.dev.commonutils.command;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+/**
+ * The registry of {@link ArgumentParser}s used for typed command handler
+ * parameters. Parsers for Strings, the primitive numbers and booleans,
+ * Players, Worlds and every enum are available without registration;
+ * plugins may register parsers for any other type.
+ */
+public final class ArgumentParsers {
+
+    private static final ConcurrentMap<Class<?>, Registered> parsers = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, WeakReference<Player>> players = new ConcurrentHashMap<>();
+
+    static {
+        register(String.class, "text", arg -> arg);
+        registerNumber(int.class, Integer.class, Integer::valueOf);
+        registerNumber(long.class, Long.class, Long::valueOf);
+        registerNumber(double.class, Double.class, Double::valueOf);
+        registerNumber(float.class, Float.class, Float::valueOf);
+        register(boolean.class, "true|false", ArgumentParsers::parseBoolean);
+        register(Boolean.class, "true|false", ArgumentParsers::parseBoolean);
+        register(Player.class, "player", ArgumentParsers::getPlayer);
+        register(World.class, "world", Bukkit::getWorld);
+    }
+
+    private ArgumentParsers() {}
+
+    /**
+     * Register a parser for the given type, replacing any previous parser.
+     *
+     * @param type   The type of parameter to parse.
+     * @param name   The name of the argument shown in usage messages.
+     * @param parser The parser to use.
+     * @param <T>    The type of parameter to parse.
+     */
+    public static <T> void register(Class<T> type, String name, ArgumentParser<? extends T> parser) {
+        parsers.put(type, new Registered(name, parser));
+    }
+
+    /**
+     * Test whether a parser is available for the given type.
+     *
+     * @param type The type of parameter.
+     * @return <b>true</b> if it can be parsed, <b>false</b> otherwise.
+     */
+    public static boolean isSupported(Class<?> type) {
+        return lookup(type) != null;
+    }
+
+    static ArgumentParser<?> getParser(Class<?> type) {
+        Registered registered = lookup(type);
+        return (registered == null) ? null : registered.parser;
+    }
+
+    static String getName(Class<?> type) {
+        Registered registered = lookup(type);
+        return (registered == null) ? type.getSimpleName() : registered.name;
+    }
+
+    private static Registered lookup(Class<?> type) {
+        Registered registered = parsers.get(type);
+
+        if (registered == null && type.isEnum()) {
+            registered = new Registered(type.getSimpleName().toLowerCase(Locale.ROOT), enumParser(type));
+            Registered previous = parsers.putIfAbsent(type, registered);
+
+            if (previous != null)
+                registered = previous;
+        }
+
+        return registered;
+    }
+
+    private static <T> void registerNumber(Class<T> primitive, Class<T> boxed, ArgumentParser<T> parser) {
+        ArgumentParser<T> safe = arg -> {
+            try {
+                return parser.parse(arg);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        };
+
+        register(primitive, "number", safe);
+        register(boxed, "number", safe);
+    }
+
+    private static Boolean parseBoolean(String arg) {
+        if (arg.equalsIgnoreCase("true"))
+            return Boolean.TRUE;
+
+        if (arg.equalsIgnoreCase("false"))
+            return Boolean.FALSE;
+
+        return null;
+    }
+
+    private static ArgumentParser<?> enumParser(Class<?> type) {
+        final Map<String, Object> constants = new HashMap<>();
+
+        for (Object constant : type.getEnumConstants()) {
+            constants.put(((Enum<?>) constant).name().toUpperCase(Locale.ROOT), constant);
+        }
+
+        return arg -> constants.get(arg.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Forget the remembered player by the given name, if any. Called by the
+     * CommandListener when a player quits.
+     */
+    static void forgetPlayer(String name) {
+        players.remove(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Look up an online player by exact name, ignoring case. Players found
+     * are remembered until they quit, so that repeated lookups do not scan
+     * every player; a remembered player is only returned while they are
+     * still online.
+     */
+    private static Player getPlayer(String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        WeakReference<Player> reference = players.get(key);
+        Player player = (reference == null) ? null : reference.get();
+
+        if (player != null && player.isOnline() && player.getName().equalsIgnoreCase(name))
+            return player;
+
+        if (reference != null)
+            players.remove(key, reference);
+
+        player = Bukkit.getPlayerExact(name);
+
+        if (player != null)
+            players.put(key, new WeakReference<>(player));
+
+        return player;
+    }
+
+    private static final class Registered {
+        private final String name;
+        private final ArgumentParser<?> parser;
+
+        private Registered(String name, ArgumentParser<?> parser) {
+            this.name = name;
+            this.parser = parser;
+        }
+    }
+}
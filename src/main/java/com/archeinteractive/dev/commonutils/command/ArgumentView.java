@@ -0,0 +1,209 @@
+package com.archeinteractive.dev.commonutils.command;
+
+import java.util.Arrays;
+
+/**
+ * A read-only window over the arguments of a command. A view is created
+ * once from the raw command line, or from an argument array, and routing
+ * to subcommands takes slices of it, which share the original tokens
+ * instead of copying them. Tokens are only turned into Strings when they
+ * are asked for, and each token is converted at most once.
+ * <p>
+ * Tokens are separated by single spaces, in the same way as
+ * <code>String.split(" ")</code>: consecutive spaces produce empty tokens
+ * and trailing empty tokens are dropped.
+ */
+public final class ArgumentView {
+
+    private static final ArgumentView EMPTY = new ArgumentView(null, new int[0], new String[0], 0, 0);
+
+    private final String source;
+    private final int[] bounds;
+    private final String[] tokens;
+    private final int offset;
+    private final int length;
+
+    private ArgumentView(String source, int[] bounds, String[] tokens, int offset, int length) {
+        this.source = source;
+        this.bounds = bounds;
+        this.tokens = tokens;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Create a view of the space separated tokens of the given string.
+     *
+     * @param line The string to tokenize.
+     * @return A view of every token in the string.
+     */
+    public static ArgumentView parse(String line) {
+        return parse(line, 0);
+    }
+
+    /**
+     * Create a view of the space separated tokens of the given string,
+     * starting at the given index.
+     *
+     * @param line  The string to tokenize.
+     * @param start The index to start at.
+     * @return A view of every token from the given index onwards.
+     */
+    public static ArgumentView parse(String line, int start) {
+        int end = line.length();
+
+        while (end > start && line.charAt(end - 1) == ' ') {
+            end--;
+        }
+
+        if (end <= start) {
+            return EMPTY;
+        }
+
+        int count = 1;
+
+        for (int i = start; i < end; i++) {
+            if (line.charAt(i) == ' ') {
+                count++;
+            }
+        }
+
+        int[] bounds = new int[count * 2];
+        int token = 0;
+        int from = start;
+
+        for (int i = start; i < end; i++) {
+            if (line.charAt(i) == ' ') {
+                bounds[token++] = from;
+                bounds[token++] = i;
+                from = i + 1;
+            }
+        }
+
+        bounds[token++] = from;
+        bounds[token] = end;
+        return new ArgumentView(line, bounds, new String[count], 0, count);
+    }
+
+    /**
+     * Create a view over an existing argument array. The array is not
+     * copied, so it must not be modified while the view is in use.
+     *
+     * @param args The arguments to view.
+     * @return A view of every argument in the array.
+     */
+    public static ArgumentView of(String[] args) {
+        return (args.length == 0) ? EMPTY : new ArgumentView(null, null, args, 0, args.length);
+    }
+
+    /**
+     * Get the number of arguments in this view.
+     *
+     * @return The number of arguments.
+     */
+    public int size() {
+        return length;
+    }
+
+    /**
+     * Test whether this view holds no arguments.
+     *
+     * @return <b>true</b> if there are no arguments, <b>false</b> otherwise.
+     */
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    /**
+     * Get an argument of this view.
+     *
+     * @param index The index of the argument, relative to this view.
+     * @return The argument.
+     */
+    public String get(int index) {
+        if (index < 0 || index >= length)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + length);
+
+        int i = offset + index;
+        String token = tokens[i];
+
+        if (token == null) {
+            token = source.substring(bounds[i * 2], bounds[i * 2 + 1]);
+            tokens[i] = token;
+        }
+
+        return token;
+    }
+
+    /**
+     * Test whether an argument of this view equals the given string,
+     * ignoring case, without converting the argument to a String.
+     *
+     * @param index The index of the argument, relative to this view.
+     * @param value The string to compare with.
+     * @return <b>true</b> if they are equal, <b>false</b> otherwise.
+     */
+    public boolean equalsIgnoreCase(int index, String value) {
+        if (index < 0 || index >= length)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + length);
+
+        int i = offset + index;
+
+        if (tokens[i] != null) {
+            return tokens[i].equalsIgnoreCase(value);
+        }
+
+        int start = bounds[i * 2];
+        int len = bounds[i * 2 + 1] - start;
+        return len == value.length() && source.regionMatches(true, start, value, 0, len);
+    }
+
+    /**
+     * Get a view of the arguments from the given index onwards.
+     *
+     * @param from The index of the first argument to include.
+     * @return The slice, sharing the tokens of this view.
+     */
+    public ArgumentView slice(int from) {
+        return slice(from, length);
+    }
+
+    /**
+     * Get a view of the arguments between the given indices.
+     *
+     * @param from The index of the first argument to include.
+     * @param to   The index after the last argument to include.
+     * @return The slice, sharing the tokens of this view.
+     */
+    public ArgumentView slice(int from, int to) {
+        if (from < 0 || to > length || from > to)
+            throw new IndexOutOfBoundsException("Slice [" + from + ", " + to + ") of size " + length);
+
+        if (from == 0 && to == length)
+            return this;
+
+        if (from == to)
+            return EMPTY;
+
+        return new ArgumentView(source, bounds, tokens, offset + from, to - from);
+    }
+
+    /**
+     * Copy the arguments of this view into a new array.
+     *
+     * @return The arguments.
+     */
+    public String[] toArray() {
+        String[] args = new String[length];
+
+        for (int i = 0; i < length; i++) {
+            args[i] = get(i);
+        }
+
+        return args;
+    }
+
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
@@ -0,0 +1,49 @@
+package com.archeinteractive.dev.commonutils.command;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * A functional interface for a command's execution that runs off the
+ * server thread. It is turned into a {@link CommandAction} with
+ * {@link #of(Plugin, AsyncCommandAction)} and registered like any other
+ * virtual command.
+ *
+ * @param <T> The CommandSender extension to restrict to.
+ */
+public interface AsyncCommandAction<T extends CommandSender> {
+
+    /**
+     * Handle the processing of this command's action, off the server thread.
+     *
+     * @param sender The sender who ran the command.
+     * @param args The arguments passed for the command.
+     * @param main An executor for handing work back to the server thread.
+     * @throws Exception If the action failed; it is printed and dropped.
+     */
+    public void invoke(T sender, String[] args, MainThread main) throws Exception;
+
+    /**
+     * Wrap an asynchronous action in a CommandAction that hands it to the
+     * shared command pool and returns immediately.
+     *
+     * @param plugin The plugin to schedule work on the server thread under.
+     * @param action The action to wrap.
+     * @param <T> The CommandSender extension to restrict to.
+     * @return The wrapping CommandAction.
+     */
+    public static <T extends CommandSender> CommandAction<T> of(Plugin plugin, AsyncCommandAction<T> action) {
+        MainThread main = new MainThread(plugin);
+
+        return (sender, args) -> {
+            AsyncCommands.execute(() -> {
+                try {
+                    action.invoke(sender, args, main);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            });
+            return true;
+        };
+    }
+}
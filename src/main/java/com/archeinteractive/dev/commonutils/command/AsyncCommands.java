@@ -0,0 +1,55 @@
+package com.archeinteractive.dev.commonutils.command;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The shared pool that asynchronous commands run on. Its threads are
+ * daemons and are released after a minute without work, so the pool does
+ * not need to be shut down when plugins are disabled.
+ */
+final class AsyncCommands {
+
+    private static final int THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    private static final ExecutorService executor;
+
+    static {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(THREADS, THREADS, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CommandThreadFactory());
+        pool.allowCoreThreadTimeOut(true);
+        executor = pool;
+    }
+
+    private AsyncCommands() {}
+
+    /**
+     * Run the given task on the pool. Anything it throws is printed.
+     *
+     * @param task The task to run.
+     */
+    static void execute(final Runnable task) {
+        executor.execute(() -> {
+            try {
+                task.run();
+            } catch (Throwable t) {
+                t.printStackTrace();
+            }
+        });
+    }
+
+    private static class CommandThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "AsyncCommand-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -20,6 +20,19 @@ public interface CommandAction<T extends CommandSender> extends BiConsumer<T, St
      */
     public boolean invoke(T sender, String[] args);
 
+    /**
+     * Handle the processing of this command's action from a view of its
+     * arguments. By default the view is copied into an array and passed to
+     * {@link #invoke(CommandSender, String[])}; actions that can work on the
+     * view directly should override this to avoid the copy.
+     *
+     * @param sender The sender who ran the command.
+     * @param args The arguments passed for the command.
+     */
+    public default boolean invoke(T sender, ArgumentView args) {
+        return invoke(sender, args.toArray());
+    }
+
     /**
      * Handle the processing of this command's action.
      *
@@ -21,4 +21,13 @@ import java.lang.annotation.Target;
 public @interface CommandCompleter {
 
     String name();
+
+    /**
+     * How long, in milliseconds, the completions of this method may be
+     * cached. While cached, the method is run once per sender type and set
+     * of preceding arguments, with the argument being completed left empty,
+     * and its results are filtered by what has been typed. 0 runs the
+     * method on every completion.
+     */
+    long cacheTime() default 0;
 }
@@ -1,6 +1,9 @@
 package com.archeinteractive.dev.commonutils.command;
 
 import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 import org.bukkit.ChatColor;
 import org.bukkit.command.Command;
@@ -22,9 +25,18 @@ public class CommandController {
         public final Method method;
         public final Object instance;
 
+        final String[] path;
+        CommandInvoker invoker;
+
+        /**
+         * @param child The name of the subcommand. Nested subcommands are
+         *              named by their full path, separated by spaces, such
+         *              as <code>edit spawn add</code>.
+         */
         public SubCommand(Command parent, String child, String usage, String permission, String permissionMessage, Method method, Object instance) {
             this.parent = parent;
-            this.child = child.toLowerCase();
+            this.path = child.trim().toLowerCase(Locale.ROOT).split("\\s+");
+            this.child = String.join(" ", path);
             this.usage = usage;
             this.permission = permission;
             this.permissionMessage = permissionMessage;
@@ -103,38 +115,79 @@ public class CommandController {
             plugin.getLogger().info(String.format("[CommandController]\nReceived registration from plugin (main %s)"
                     + " to register an instance of %s", plugin.getDescription().getMain(), instance.getClass().getCanonicalName()));
         }
-        
-        for (Method method : instance.getClass().getMethods()) {
+
+        registerMethods(plugin, verbose, instance, instance.getClass().getMethods());
+    }
+
+    /**
+     * Registers every command handler and subcommand handler in the
+     * given package of the specified plugin's jar. Each concrete class
+     * holding handlers, declared or inherited, is created through its
+     * no-argument constructor. The classes found are kept in an index in
+     * the plugin's data folder, so later startups with the same jar skip
+     * the scan and only load the classes that were indexed.
+     *
+     * @param plugin  The plugin whose commands should be considered for registration
+     * @param verbose If true, very verbose output will be sent to the console even for success
+     * @param pkg     The package to scan, including its subpackages
+     */
+    public static void registerPackage(JavaPlugin plugin, boolean verbose, String pkg) {
+        for (Map.Entry<Class<?>, List<Method>> entry : CommandIndex.load(plugin, pkg).entrySet()) {
+            Object instance;
+
+            try {
+                instance = entry.getKey().getConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                plugin.getLogger().warning(String.format("[CommandController]\nCould not register the handlers of %s;" +
+                        " it could not be created through a public no-argument constructor.",
+                        entry.getKey().getCanonicalName()));
+                continue;
+            }
+
+            if (verbose) {
+                plugin.getLogger().info(String.format("[CommandController]\nRegistering indexed handlers of %s",
+                        entry.getKey().getCanonicalName()));
+            }
+
+            registerMethods(plugin, verbose, instance, entry.getValue().toArray(new Method[0]));
+        }
+    }
+
+    private static void registerMethods(JavaPlugin plugin, boolean verbose, Object instance, Method[] methods) {
+        for (Method method : methods) {
             Class<?>[] params = method.getParameterTypes();
 
-            if (params.length == 2 && CommandSender.class.isAssignableFrom(params[0]) && String[].class.equals(params[1])) {
+            if (params.length > 0 && CommandSender.class.isAssignableFrom(params[0])) {
+                boolean raw = params.length == 2 && String[].class.equals(params[1]);
+
                 if (method.isAnnotationPresent(CommandHandler.class)) {
                     CommandHandler annotation = method.getAnnotation(CommandHandler.class);
 
                     if (plugin.getCommand(annotation.name()) != null) {
                         CommandHandling handling = CommandHandling.COMMAND_EXECUTION;
                         PluginCommand command = plugin.getCommand(annotation.name());
-                        handling.handleCommand(command, method, instance);
-
-                        if (!(annotation.aliases().equals(new String[]{""})))
-                            command.setAliases(Lists.newArrayList(annotation.aliases()));
+                        
+                        if (handling.handleCommand(command, method, instance)) {
+                            if (!(annotation.aliases().equals(new String[]{""})))
+                                command.setAliases(Lists.newArrayList(annotation.aliases()));
 
-                        if (!annotation.description().equals(""))
-                            command.setDescription(annotation.description());
+                            if (!annotation.description().equals(""))
+                                command.setDescription(annotation.description());
 
-                        if (!annotation.usage().equals(""))
-                            command.setUsage(annotation.usage());
+                            if (!annotation.usage().equals(""))
+                                command.setUsage(annotation.usage());
 
-                        if (!annotation.permission().equals(""))
-                            command.setPermission(annotation.permission());
+                            if (!annotation.permission().equals(""))
+                                command.setPermission(annotation.permission());
 
-                        if (!annotation.permissionMessage().equals(""))
-                            command.setPermissionMessage(ChatColor.RED + annotation.permissionMessage());
+                            if (!annotation.permissionMessage().equals(""))
+                                command.setPermissionMessage(ChatColor.RED + annotation.permissionMessage());
                         
-                        if (verbose) {
-                            plugin.getLogger().info(String.format("[CommandController]\nRegistered command execution of command" +
-                                    " name %s to an instance of %s.",
-                                    annotation.name(), instance.getClass().getCanonicalName()));
+                            if (verbose) {
+                                plugin.getLogger().info(String.format("[CommandController]\nRegistered command execution of command" +
+                                        " name %s to an instance of %s.",
+                                        annotation.name(), instance.getClass().getCanonicalName()));
+                            }
                         }
                     } else {
                         plugin.getLogger().warning(String.format("[CommandController]\nCould not register command of" +
@@ -143,15 +196,14 @@ public class CommandController {
                     }
                 }
                 
-                if (method.isAnnotationPresent(CommandCompleter.class)) {
+                if (raw && method.isAnnotationPresent(CommandCompleter.class)) {
                     CommandCompleter annotation = method.getAnnotation(CommandCompleter.class);
                     
                     if (plugin.getCommand(annotation.name()) != null) {
                         CommandHandling handling = CommandHandling.TAB_COMPLETION;
                         PluginCommand command = plugin.getCommand(annotation.name());
-                        handling.handleCommand(command, method, instance);
                         
-                        if (verbose) {
+                        if (handling.handleCommand(command, method, instance) && verbose) {
                             plugin.getLogger().info(String.format("[CommandController]\nRegistered tab completion of command" +
                                     " name %s to an instance of %s.",
                                     annotation.name(), instance.getClass().getCanonicalName()));
@@ -176,9 +228,8 @@ public class CommandController {
                                 annotation.permissionMessage(),
                                 method,
                                 instance);
-                        CommandHandling.COMMAND_EXECUTION.handleSubCommand(command, subcommand);
                         
-                        if (verbose) {
+                        if (CommandHandling.COMMAND_EXECUTION.handleSubCommand(command, subcommand) && verbose) {
                             plugin.getLogger().info(String.format("[CommandController]\nRegistered command execution of subcommand" +
                                     " name %s to an instance of %s.",
                                     annotation.parent() + ":" + annotation.name(), instance.getClass().getCanonicalName()));
@@ -191,7 +242,7 @@ public class CommandController {
                     }
                 }
                 
-                if (method.isAnnotationPresent(SubCommandCompleter.class)) {
+                if (raw && method.isAnnotationPresent(SubCommandCompleter.class)) {
                     SubCommandCompleter annotation = method.getAnnotation(SubCommandCompleter.class);
                     
                     if (plugin.getCommand(annotation.parent()) != null) {
@@ -204,9 +255,8 @@ public class CommandController {
                                 "",
                                 method,
                                 instance);
-                        CommandHandling.TAB_COMPLETION.handleSubCommand(command, subcommand);
                         
-                        if (verbose) {
+                        if (CommandHandling.TAB_COMPLETION.handleSubCommand(command, subcommand) && verbose) {
                             plugin.getLogger().info(String.format("[CommandController]\nRegistered tab completion of subcommand" +
                                     " name %s to an instance of %s.",
                                     annotation.parent() + ":" + annotation.name(), instance.getClass().getCanonicalName()));
@@ -0,0 +1,143 @@
+package com.archeinteractive.dev.commonutils.command;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * A per-player rate limit for a command. Each player may run the command
+ * <code>burst</code> times in a row, after which one more use becomes
+ * available every <code>cooldown</code> milliseconds. This is a token
+ * bucket, kept as a single timestamp per player: the time at which the
+ * player's bucket will next be full. Players are forgotten when they quit.
+ * Senders other than players are never limited.
+ */
+public class CommandCooldown {
+
+    private static final Set<CommandCooldown> cooldowns =
+            Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private final long interval;
+    private final long tolerance;
+    private final ConcurrentMap<UUID, AtomicLong> players = new ConcurrentHashMap<>();
+
+    /**
+     * @param plugin   The plugin to register the quit listener under, if needed.
+     * @param cooldown The time it takes for one use to become available, in milliseconds.
+     * @param burst    The number of uses that may be made in a row.
+     */
+    public CommandCooldown(Plugin plugin, long cooldown, int burst) {
+        if (cooldown <= 0)
+            throw new IllegalArgumentException("The cooldown must be positive!");
+
+        if (burst < 1)
+            throw new IllegalArgumentException("The burst must be at least one!");
+
+        this.interval = TimeUnit.MILLISECONDS.toNanos(cooldown);
+        this.tolerance = interval * (burst - 1);
+        CommandListener.setup(plugin);
+        cooldowns.add(this);
+    }
+
+    /**
+     * Use the command on behalf of the given sender, if they may.
+     *
+     * @param sender The sender who ran the command.
+     * @return <b>true</b> if the sender may run the command, <b>false</b>
+     * if they must wait.
+     */
+    public boolean tryAcquire(CommandSender sender) {
+        return !(sender instanceof Player) || tryAcquire(((Player) sender).getUniqueId());
+    }
+
+    /**
+     * Use the command on behalf of the given player, if they may.
+     *
+     * @param id The UUID of the player.
+     * @return <b>true</b> if the player may run the command, <b>false</b>
+     * if they must wait.
+     */
+    public boolean tryAcquire(UUID id) {
+        long now = System.nanoTime();
+        AtomicLong full = players.get(id);
+
+        if (full == null) {
+            AtomicLong created = new AtomicLong(now);
+            full = players.putIfAbsent(id, created);
+
+            if (full == null)
+                full = created;
+        }
+
+        while (true) {
+            long current = full.get();
+            long start = Math.max(current, now);
+
+            if (start - now > tolerance)
+                return false;
+
+            if (full.compareAndSet(current, start + interval))
+                return true;
+        }
+    }
+
+    /**
+     * Get how long the given player must wait before they may use the
+     * command again.
+     *
+     * @param id The UUID of the player.
+     * @return The time to wait, in milliseconds, or 0 if they may use it now.
+     */
+    public long getRemaining(UUID id) {
+        AtomicLong full = players.get(id);
+
+        if (full == null)
+            return 0;
+
+        long wait = full.get() - System.nanoTime() - tolerance;
+        return (wait > 0) ? TimeUnit.NANOSECONDS.toMillis(wait) + 1 : 0;
+    }
+
+    /**
+     * Forget the given player, giving them a full bucket.
+     *
+     * @param id The UUID of the player.
+     */
+    public void clear(UUID id) {
+        players.remove(id);
+    }
+
+    /**
+     * Use the command on behalf of the given sender, telling them how long
+     * to wait if they may not.
+     */
+    boolean check(CommandSender sender) {
+        if (tryAcquire(sender))
+            return true;
+
+        double seconds = getRemaining(((Player) sender).getUniqueId()) / 1000.0;
+        sender.sendMessage(String.format("%sYou must wait %.1f seconds before using this command again.", ChatColor.RED, seconds));
+        return false;
+    }
+
+    /**
+     * Forget the given player in every cooldown.
+     */
+    static void clearAll(UUID id) {
+        synchronized (cooldowns) {
+            for (CommandCooldown cooldown : cooldowns) {
+                cooldown.clear(id);
+            }
+        }
+    }
+}
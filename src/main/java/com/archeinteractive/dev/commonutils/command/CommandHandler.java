@@ -32,4 +32,25 @@ public @interface CommandHandler {
     String permission() default "";
 
     String permissionMessage() default "You do not have permission to use that command";
+
+    /**
+     * Whether the method should run off the server thread. Asynchronous
+     * handlers are run on a shared pool once the sender and permission
+     * checks have passed, and must not touch the world directly; a
+     * {@link MainThread} can be used to hand work back to the server.
+     */
+    boolean async() default false;
+
+    /**
+     * The time, in milliseconds, it takes for a player to earn another use
+     * of the command, or 0 for no limit. Players who have run out of uses
+     * are turned away before the method is invoked.
+     */
+    long cooldown() default 0;
+
+    /**
+     * The number of uses a player may make in a row before the cooldown
+     * applies.
+     */
+    int burst() default 1;
 }
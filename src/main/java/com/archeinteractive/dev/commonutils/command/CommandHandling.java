@@ -11,20 +11,36 @@ import org.bukkit.command.PluginCommand;
 public enum CommandHandling {
 
     COMMAND_EXECUTION {
-        public void handleCommand(PluginCommand command, Method method, Object instance) {
+        public boolean handleCommand(PluginCommand command, Method method, Object instance) {
             ExecutorMethod executor = ExecutorMethod.forCommand(command);
-            executor.addMainCommand(method, instance);
+
+            try {
+                executor.addMainCommand(method, instance);
+            } catch (UnparsableParameterException e) {
+                warnParameters(command, method, instance, e);
+                return false;
+            }
+
             command.setExecutor(executor);
+            return true;
         }
 
-        public void handleSubCommand(PluginCommand command, CommandController.SubCommand subcommand) {
+        public boolean handleSubCommand(PluginCommand command, CommandController.SubCommand subcommand) {
             ExecutorMethod executor = ExecutorMethod.forCommand(command);
-            executor.addSubCommand(subcommand);
+
+            try {
+                executor.addSubCommand(subcommand);
+            } catch (UnparsableParameterException e) {
+                warnParameters(command, subcommand.method, subcommand.instance, e);
+                return false;
+            }
+
             command.setExecutor(executor);
+            return true;
         }
     },
     TAB_COMPLETION {
-        public void handleCommand(PluginCommand command, Method method, Object instance) {
+        public boolean handleCommand(PluginCommand command, Method method, Object instance) {
             Class<?> returns = method.getReturnType();
 
             if (!List.class.isAssignableFrom(returns)) {
@@ -34,15 +50,16 @@ public enum CommandHandling {
                                 " compatible with List<String>.",
                         command.getName(), instance.getClass().getCanonicalName(), method.getName()
                 ));
-                return;
+                return false;
             }
 
             CompleterMethod completer = CompleterMethod.forCommand(command);
             completer.addMainCommand(method, instance);
             command.setTabCompleter(completer);
+            return true;
         }
 
-        public void handleSubCommand(PluginCommand command, CommandController.SubCommand subcommand) {
+        public boolean handleSubCommand(PluginCommand command, CommandController.SubCommand subcommand) {
             Method method = subcommand.method;
             Object instance = subcommand.instance;
             Class<?> returns = method.getReturnType();
@@ -54,16 +71,37 @@ public enum CommandHandling {
                                 " compatible with List<String>.",
                         command.getName(), instance.getClass().getCanonicalName(), method.getName()
                 ));
-                return;
+                return false;
             }
 
             CompleterMethod completer = CompleterMethod.forCommand(command);
             completer.addSubCommand(subcommand);
             command.setTabCompleter(completer);
+            return true;
         }
     };
 
-    public abstract void handleCommand(PluginCommand command, Method method, Object instance);
+    /**
+     * Register the given method as the main handler of the given command.
+     * 
+     * @return <b>true</b> if the method was registered, <b>false</b> if it
+     *         could not be, in which case a warning has been logged.
+     */
+    public abstract boolean handleCommand(PluginCommand command, Method method, Object instance);
+
+    private static void warnParameters(PluginCommand command, Method method, Object instance, UnparsableParameterException e) {
+        command.getPlugin().getLogger().warning(String.format("[CommandController]\nCould not register" +
+                        " command of name %s from an instance of %s; the parameters of the method of name %s" +
+                        " could not be parsed: %s.",
+                command.getName(), instance.getClass().getCanonicalName(), method.getName(), e.getMessage()
+        ));
+    }
 
-    public abstract void handleSubCommand(PluginCommand command, CommandController.SubCommand subcommand);
+    /**
+     * Register the given subcommand handler under the given command.
+     * 
+     * @return <b>true</b> if the subcommand was registered, <b>false</b> if
+     *         it could not be, in which case a warning has been logged.
+     */
+    public abstract boolean handleSubCommand(PluginCommand command, CommandController.SubCommand subcommand);
 }
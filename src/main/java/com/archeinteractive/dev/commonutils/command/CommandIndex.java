@@ -0,0 +1,311 @@
+package com.archeinteractive.dev.commonutils.command;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bukkit.plugin.java.JavaPlugin;
+import org.reflections.Reflections;
+import org.reflections.scanners.MethodAnnotationsScanner;
+import org.reflections.scanners.SubTypesScanner;
+import org.reflections.util.ConfigurationBuilder;
+import org.reflections.util.FilterBuilder;
+
+/**
+ * Finds the command handlers in a package of a plugin's jar for
+ * {@link CommandController#registerPackage(JavaPlugin, boolean, String)}.
+ * The jar is scanned once, and the handler methods found are written to an
+ * index in the plugin's data folder, one per package, along with the size
+ * and modification time of the jar and the plugin's version. While those
+ * are unchanged, later startups read the index and look up only the
+ * classes and methods it names instead of scanning every class again.
+ * <p/>
+ * The handlers of a class are its public methods, inherited ones included,
+ * just as for {@link CommandController#registerCommands(JavaPlugin, Object)}.
+ * Handlers declared in a base class are therefore registered on each
+ * concrete class in the package that inherits them. A concrete class that
+ * another indexed class extends is left to that subclass, so that its
+ * commands are not registered twice, and a warning names the class skipped.
+ */
+final class CommandIndex {
+
+    private static final int INDEX_MAGIC = 0x434D4458;
+    private static final int INDEX_VERSION = 3;
+
+    private static final List<Class<? extends Annotation>> ANNOTATIONS = Collections.unmodifiableList(Arrays.asList(
+            CommandHandler.class,
+            CommandCompleter.class,
+            SubCommandHandler.class,
+            SubCommandCompleter.class));
+
+    private static final List<Class<?>> PRIMITIVES = Collections.unmodifiableList(Arrays.<Class<?>>asList(
+            boolean.class, byte.class, char.class, short.class, int.class, long.class, float.class, double.class));
+
+    private CommandIndex() {}
+
+    /**
+     * Get the command handlers in the given package of the plugin's jar,
+     * grouped by the concrete class they should be registered on.
+     *
+     * @param plugin The plugin whose jar holds the handlers.
+     * @param pkg    The package to look in, including its subpackages.
+     * @return The handlers of every concrete class in the package.
+     */
+    static Map<Class<?>, List<Method>> load(JavaPlugin plugin, String pkg) {
+        URL jar = plugin.getClass().getProtectionDomain().getCodeSource().getLocation();
+        ClassLoader loader = plugin.getClass().getClassLoader();
+        File file = new File(plugin.getDataFolder(), "command-index-" + pkg + ".dat");
+        String stamp = stamp(plugin, jar);
+
+        if (stamp != null) {
+            try {
+                Map<Class<?>, List<Method>> handlers = read(file, loader, stamp, pkg);
+
+                if (handlers != null)
+                    return handlers;
+            } catch (IOException e) {
+                e.printStackTrace();
+            } catch (ReflectiveOperationException e) {
+                plugin.getLogger().info("[CommandController] The command index is out of date and will be rebuilt: " + e);
+            }
+        }
+
+        Map<Class<?>, List<Method>> handlers = group(scan(plugin, jar, loader, pkg));
+
+        if (stamp != null) {
+            try {
+                write(file, stamp, pkg, handlers);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+
+        return handlers;
+    }
+
+    /**
+     * Get what an index must have been written for to still apply: the size
+     * and modification time of the plugin's jar, and the plugin's version.
+     * Unlike a hash of the jar, these are read without opening it.
+     *
+     * @return The stamp, or <b>null</b> if the plugin was not loaded from a file.
+     */
+    private static String stamp(JavaPlugin plugin, URL jar) {
+        File file;
+
+        try {
+            file = new File(jar.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+
+        if (!file.isFile())
+            return null;
+
+        return file.length() + ":" + file.lastModified() + ":" + plugin.getDescription().getVersion();
+    }
+
+    private static List<Class<?>> scan(JavaPlugin plugin, URL jar, ClassLoader loader, String pkg) {
+        Reflections reflections = new Reflections(new ConfigurationBuilder()
+                .addUrls(jar)
+                .addClassLoader(loader)
+                .filterInputsBy(new FilterBuilder().include(FilterBuilder.prefix(pkg)))
+                .setScanners(new MethodAnnotationsScanner(), new SubTypesScanner()));
+
+        Set<Class<?>> declaring = new LinkedHashSet<>();
+
+        for (Class<? extends Annotation> annotation : ANNOTATIONS) {
+            for (Method method : reflections.getMethodsAnnotatedWith(annotation)) {
+                declaring.add(method.getDeclaringClass());
+            }
+        }
+
+        Set<Class<?>> candidates = new LinkedHashSet<>(declaring);
+
+        for (Class<?> type : declaring) {
+            candidates.addAll(reflections.getSubTypesOf(type));
+        }
+
+        List<Class<?>> classes = new ArrayList<>();
+
+        for (Class<?> type : candidates) {
+            if (type.isInterface() || Modifier.isAbstract(type.getModifiers()) || handlers(type).isEmpty())
+                continue;
+
+            Class<?> subclass = findSubclass(type, candidates);
+
+            if (subclass == null) {
+                classes.add(type);
+            } else {
+                plugin.getLogger().warning(String.format("[CommandController]\nSkipping the handlers of %s; they are" +
+                        " registered on its subclass %s instead.", type.getCanonicalName(), subclass.getCanonicalName()));
+            }
+        }
+
+        return classes;
+    }
+
+    private static Class<?> findSubclass(Class<?> type, Set<Class<?>> candidates) {
+        for (Class<?> other : candidates) {
+            if (other != type && type.isAssignableFrom(other) && !other.isInterface()
+                    && !Modifier.isAbstract(other.getModifiers()))
+                return other;
+        }
+
+        return null;
+    }
+
+    private static List<Method> handlers(Class<?> type) {
+        List<Method> methods = new ArrayList<>();
+
+        for (Method method : type.getMethods()) {
+            for (Class<? extends Annotation> annotation : ANNOTATIONS) {
+                if (method.isAnnotationPresent(annotation)) {
+                    methods.add(method);
+                    break;
+                }
+            }
+        }
+
+        return methods;
+    }
+
+    private static Map<Class<?>, List<Method>> group(List<Class<?>> classes) {
+        Map<Class<?>, List<Method>> grouped = new LinkedHashMap<>();
+
+        for (Class<?> type : classes) {
+            List<Method> methods = handlers(type);
+
+            if (!methods.isEmpty())
+                grouped.put(type, methods);
+        }
+
+        return grouped;
+    }
+
+    private static Class<?> typeOf(String name, ClassLoader loader) throws ClassNotFoundException {
+        for (Class<?> primitive : PRIMITIVES) {
+            if (primitive.getName().equals(name))
+                return primitive;
+        }
+
+        return Class.forName(name, false, loader);
+    }
+
+    /**
+     * Read the handlers named by the index, if it was written for the same
+     * stamp and package. Each handler is looked up by its name and parameter
+     * types, so the other methods of its class are not reflected on.
+     *
+     * @return The handlers by class, or <b>null</b> if the index does not apply.
+     * @throws ReflectiveOperationException If an indexed class or method no
+     *                                      longer exists.
+     */
+    private static Map<Class<?>, List<Method>> read(File file, ClassLoader loader, String stamp, String pkg)
+            throws IOException, ReflectiveOperationException {
+        if (!file.exists())
+            return null;
+
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+
+        try {
+            if (in.readInt() != INDEX_MAGIC || in.readInt() != INDEX_VERSION)
+                return null;
+
+            if (!in.readUTF().equals(stamp) || !in.readUTF().equals(pkg))
+                return null;
+
+            int count = in.readInt();
+            Map<Class<?>, List<Method>> handlers = new LinkedHashMap<>();
+
+            for (int i = 0; i < count; i++) {
+                Class<?> type = Class.forName(in.readUTF(), false, loader);
+                int methods = in.readInt();
+                List<Method> found = new ArrayList<>(methods);
+
+                for (int j = 0; j < methods; j++) {
+                    String name = in.readUTF();
+                    Class<?>[] params = new Class<?>[in.readInt()];
+
+                    for (int k = 0; k < params.length; k++) {
+                        params[k] = typeOf(in.readUTF(), loader);
+                    }
+
+                    found.add(type.getMethod(name, params));
+                }
+
+                handlers.put(type, found);
+            }
+
+            return handlers;
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Write the index to a temporary file first, which then replaces the
+     * given file, so that a startup never reads a partly written index.
+     */
+    private static void write(File file, String stamp, String pkg, Map<Class<?>, List<Method>> handlers)
+            throws IOException {
+        File dir = file.getParentFile();
+
+        if (dir != null)
+            dir.mkdirs();
+
+        File temp = new File(file.getPath() + ".tmp");
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+
+        try {
+            out.writeInt(INDEX_MAGIC);
+            out.writeInt(INDEX_VERSION);
+            out.writeUTF(stamp);
+            out.writeUTF(pkg);
+            out.writeInt(handlers.size());
+
+            for (Map.Entry<Class<?>, List<Method>> entry : handlers.entrySet()) {
+                out.writeUTF(entry.getKey().getName());
+                out.writeInt(entry.getValue().size());
+
+                for (Method method : entry.getValue()) {
+                    out.writeUTF(method.getName());
+                    out.writeInt(method.getParameterTypes().length);
+
+                    for (Class<?> param : method.getParameterTypes()) {
+                        out.writeUTF(param.getName());
+                    }
+                }
+            }
+        } finally {
+            out.close();
+        }
+
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.archeinteractive.dev.commonutils.command;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+import org.bukkit.command.CommandSender;
+
+/**
+ * A command handler method bound to its instance and compiled into a
+ * MethodHandle when it is registered. Executors are adapted to the shape
+ * <code>(CommandSender, String[])boolean</code>, with methods that do not
+ * return a boolean treated as always succeeding, and completers to
+ * <code>(CommandSender, String[])List</code>, so dispatching a command
+ * needs no reflection and no checks on the return type. Executors with
+ * typed parameters are spread over an <code>Object[]</code> filled in by
+ * a {@link ParameterBinder}.
+ */
+final class CommandInvoker {
+
+    private static final MethodType EXECUTOR_TYPE =
+            MethodType.methodType(boolean.class, CommandSender.class, String[].class);
+    private static final MethodType SPREAD_EXECUTOR_TYPE =
+            MethodType.methodType(boolean.class, Object[].class);
+    private static final MethodType COMPLETER_TYPE =
+            MethodType.methodType(List.class, CommandSender.class, String[].class);
+    private static final Object[] RAW_VALUES = new Object[0];
+
+    final Method method;
+    final Class<?> senderType;
+    final boolean async;
+    final CommandCooldown cooldown;
+    private final MethodHandle handle;
+    private final ParameterBinder binder;
+    private final CommandMetrics.Stats stats;
+    private final CompletionCache completions;
+
+    private CommandInvoker(Method method, MethodHandle handle, ParameterBinder binder, boolean async,
+                           CommandCooldown cooldown, CommandMetrics.Stats stats, CompletionCache completions) {
+        this.method = method;
+        this.senderType = method.getParameterTypes()[0];
+        this.async = async;
+        this.cooldown = cooldown;
+        this.handle = handle;
+        this.binder = binder;
+        this.stats = stats;
+        this.completions = completions;
+    }
+
+    /**
+     * Compile a command handler for execution.
+     *
+     * @param method   The handler method.
+     * @param instance The instance to invoke it on.
+     * @param async    Whether the handler runs off the server thread.
+     * @param cooldown The rate limit of the handler, or <b>null</b> for none.
+     * @param name     The name the handler's metrics are recorded under.
+     * @return The compiled invoker.
+     * @throws UnparsableParameterException If a typed parameter has no parser.
+     */
+    static CommandInvoker forExecution(Method method, Object instance, boolean async, CommandCooldown cooldown, String name) {
+        MethodHandle handle = bind(method, instance);
+        ParameterBinder binder = null;
+        MethodType type = EXECUTOR_TYPE;
+
+        if (!ParameterBinder.isRaw(method)) {
+            binder = new ParameterBinder(method);
+            handle = handle.asSpreader(Object[].class, binder.getParameterCount());
+            type = SPREAD_EXECUTOR_TYPE;
+        }
+
+        Class<?> returns = method.getReturnType();
+
+        if (returns == boolean.class || returns == Boolean.class) {
+            handle = handle.asType(type);
+        } else {
+            handle = MethodHandles.filterReturnValue(
+                    handle.asType(type.changeReturnType(void.class)),
+                    MethodHandles.constant(boolean.class, true));
+        }
+
+        return new CommandInvoker(method, handle, binder, async, cooldown, CommandMetrics.forCommand(name), null);
+    }
+
+    /**
+     * Compile a command handler for tab completion. The method must return
+     * a List.
+     *
+     * @param method    The handler method.
+     * @param instance  The instance to invoke it on.
+     * @param cacheTime How long its completions may be cached, in
+     *                  milliseconds, or 0 to run it on every completion.
+     * @return The compiled invoker.
+     */
+    static CommandInvoker forCompletion(Method method, Object instance, long cacheTime) {
+        return new CommandInvoker(method, bind(method, instance).asType(COMPLETER_TYPE), null, false, null, null,
+                (cacheTime > 0) ? new CompletionCache(cacheTime) : null);
+    }
+
+    private static MethodHandle bind(Method method, Object instance) {
+        try {
+            method.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            return Modifier.isStatic(method.getModifiers()) ? handle : handle.bindTo(instance);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Could not access command handler " + method, e);
+        }
+    }
+
+    /**
+     * Test whether the handler accepts the given sender.
+     *
+     * @param sender The sender to test.
+     * @return <b>true</b> if the sender is of the handler's sender type.
+     */
+    boolean accepts(CommandSender sender) {
+        return senderType.isInstance(sender);
+    }
+
+    /**
+     * Run an invoker created by {@link #forExecution(Method, Object, boolean, CommandCooldown, String)}.
+     *
+     * @param sender The sender who ran the command.
+     * @param args   The arguments passed for the command.
+     * @return The result of the handler, or <b>true</b> if it returns none
+     * or the arguments could not be parsed.
+     * @throws Throwable Anything thrown by the handler.
+     */
+    boolean execute(CommandSender sender, String[] args) throws Throwable {
+        long start = System.nanoTime();
+        Object[] values = bind(sender, args);
+        return (values == null) || invoke(sender, args, values, System.nanoTime() - start, -1);
+    }
+
+    /**
+     * Parse the arguments of an invoker created by {@link #forExecution(Method,
+     * Object, boolean, CommandCooldown, String)}. Parsers may look up Players
+     * and Worlds, so this must be called on the server thread.
+     *
+     * @param sender The sender who ran the command.
+     * @param args   The arguments passed for the command.
+     * @return The parameters to pass to {@link #invoke(CommandSender, String[], Object[], long, long)},
+     * or <b>null</b> if the arguments could not be parsed and the sender was told why.
+     */
+    Object[] bind(CommandSender sender, String[] args) {
+        return (binder == null) ? RAW_VALUES : binder.bind(sender, args);
+    }
+
+    /**
+     * Invoke the handler with parameters returned by {@link #bind(CommandSender, String[])},
+     * recording how long it took.
+     *
+     * @param sender     The sender who ran the command.
+     * @param args       The arguments passed for the command.
+     * @param values     The parsed parameters.
+     * @param parseNanos How long parsing the parameters took.
+     * @param queueNanos How long the handler waited for a thread of the
+     *                   async pool, or -1 if it runs on the server thread.
+     * @return The result of the handler, or <b>true</b> if it returns none.
+     * @throws Throwable Anything thrown by the handler.
+     */
+    boolean invoke(CommandSender sender, String[] args, Object[] values, long parseNanos, long queueNanos) throws Throwable {
+        long start = System.nanoTime();
+        boolean failed = true;
+
+        try {
+            boolean result;
+
+            if (binder == null) {
+                result = (boolean) handle.invokeExact(sender, args);
+            } else {
+                result = (boolean) handle.invokeExact(values);
+            }
+
+            failed = false;
+            return result;
+        } finally {
+            stats.record(sender, args, System.nanoTime() - start, failed, parseNanos, queueNanos);
+        }
+    }
+
+    /**
+     * Run an invoker created by {@link #forCompletion(Method, Object, long)},
+     * answering from its cached completions where possible.
+     *
+     * @param sender The sender who is completing the command.
+     * @param args   The arguments typed so far.
+     * @return The completions, or <b>null</b> if the handler returned none.
+     * @throws Throwable Anything thrown by the handler.
+     */
+    List<String> complete(CommandSender sender, String[] args) throws Throwable {
+        return (completions != null) ? completions.complete(this, sender, args) : invokeCompleter(sender, args);
+    }
+
+    /**
+     * Run an invoker created by {@link #forCompletion(Method, Object, long)},
+     * bypassing its cached completions.
+     *
+     * @param sender The sender who is completing the command.
+     * @param args   The arguments typed so far.
+     * @return The completions returned by the handler.
+     * @throws Throwable Anything thrown by the handler.
+     */
+    @SuppressWarnings("unchecked")
+    List<String> invokeCompleter(CommandSender sender, String[] args) throws Throwable {
+        return (List<String>) handle.invokeExact(sender, args);
+    }
+}
@@ -2,12 +2,13 @@ package com.archeinteractive.dev.commonutils.command;
 
 import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerCommandPreprocessEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.server.ServerCommandEvent;
-import org.bukkit.plugin.java.JavaPlugin;
-
-import java.util.Arrays;
+import org.bukkit.plugin.Plugin;
 
 public class CommandListener implements Listener {
 
@@ -17,17 +18,12 @@ public class CommandListener implements Listener {
     
     @EventHandler
     public void onPlayerCommand(PlayerCommandPreprocessEvent e) {
-        String[] command = e.getMessage().split(" ");
-        
-        if (command.length > 0 && command[0].startsWith("/")) {
-            command[0] = command[0].substring(1);
-        }
-        
+        String message = e.getMessage();
+        ArgumentView command = ArgumentView.parse(message, message.startsWith("/") ? 1 : 0);
         VirtualCommand v;
         
-        
-        if (command.length > 0 && (v = CommandRegistry.getCommand(command[0])) != null && v.hasPlayerExecution()) {
-            if (v.invokePlayer(e.getPlayer(), Arrays.copyOfRange(command, 1, command.length))) {
+        if (!command.isEmpty() && (v = CommandRegistry.getCommand(command.get(0))) != null && v.hasPlayerExecution()) {
+            if (v.invokePlayer(e.getPlayer(), command.slice(1))) {
                 e.setCancelled(true);
             }
         }
@@ -35,27 +31,39 @@ public class CommandListener implements Listener {
     
     @EventHandler
     public void onConsoleCommand(ServerCommandEvent e) {
-        String[] command = e.getCommand().split(" ");
+        ArgumentView command = ArgumentView.parse(e.getCommand());
         VirtualCommand v;
         
-        if (command.length > 0 && (v = CommandRegistry.getCommand(command[0])) != null && v.hasConsoleExecution()) {
-            if (v.invokeConsole(Bukkit.getConsoleSender(), Arrays.copyOfRange(command, 1, command.length))) {
+        if (!command.isEmpty() && (v = CommandRegistry.getCommand(command.get(0))) != null && v.hasConsoleExecution()) {
+            if (v.invokeConsole(Bukkit.getConsoleSender(), command.slice(1))) {
                 e.setCommand(""); // ServerCommandEvents aren't cancellable
             }
         }
     }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent e) {
+        CommandCooldown.clearAll(e.getPlayer().getUniqueId());
+        PermissionCache.invalidate(e.getPlayer().getUniqueId());
+        ArgumentParsers.forgetPlayer(e.getPlayer().getName());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent e) {
+        PermissionCache.invalidate(e.getPlayer().getUniqueId());
+    }
     
     
     /**
      * Ensure that the virtual command listener has been setup. If it has not,
-     * the given JavaPlugin will be used to register the listener.
+     * the given Plugin will be used to register the listener.
      * <p>
      * Once the listener is setup, all plugins will be able to utilize the
      * virtual commands system, not only the one that has setup the listener.
      * 
      * @param plugin The plugin to register the listener under, if needed.
      */
-    public static void setup(JavaPlugin plugin) {
+    public static void setup(Plugin plugin) {
         if (listener == null) {
             CommandListener.listener = new CommandListener();
             Bukkit.getPluginManager().registerEvents(listener, plugin);
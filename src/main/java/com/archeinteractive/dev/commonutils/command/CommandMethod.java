@@ -1,46 +1,43 @@
 package com.archeinteractive.dev.commonutils.command;
 
 import java.lang.reflect.Method;
-import java.util.HashMap;
-import java.util.Map;
-
-import org.bukkit.command.CommandSender;
 
 public abstract class CommandMethod {
 
-    Method main_method;
-    Object main_instance;
-    Map<String, CommandController.SubCommand> subcommands;
+    final String name;
+    CommandInvoker main_invoker;
+    CommandNode subcommands;
 
-    CommandMethod() {
-        this.main_method = null;
-        this.main_instance = null;
-        this.subcommands = new HashMap<>();
+    CommandMethod(String name) {
+        this.name = name;
+        this.main_invoker = null;
+        this.subcommands = new CommandNode();
     }
 
-    boolean compatibleParameterTypes(Method method, CommandSender sender) {
-        Class<?> type = method.getParameterTypes()[0];
-
-        if (type.isAssignableFrom(sender.getClass()))
-            return true;
-
-        return false;
-    }
+    /**
+     * Compile a handler method into the invoker this CommandMethod runs.
+     *
+     * @param method   The handler method.
+     * @param instance The instance to invoke it on.
+     * @param path     The command, followed by the path of the subcommand if any.
+     * @return The compiled invoker.
+     */
+    abstract CommandInvoker compile(Method method, Object instance, String path);
 
     public void addMainCommand(Method method, Object instance) {
-        this.main_method = method;
-        this.main_instance = instance;
+        this.main_invoker = compile(method, instance, name);
     }
 
     public void addSubCommand(CommandController.SubCommand subcommand) {
-        this.subcommands.put(subcommand.toString(), subcommand);
+        subcommand.invoker = compile(subcommand.method, subcommand.instance, subcommand.toString());
+        this.subcommands.add(subcommand);
     }
 
     public boolean hasMainCommand() {
-        return (main_method != null) && (main_instance != null);
+        return main_invoker != null;
     }
 
     public boolean hasSubCommands() {
-        return subcommands.size() > 0;
+        return subcommands.hasChildren();
     }
 }
@@ -0,0 +1,238 @@
+package com.archeinteractive.dev.commonutils.command;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+
+/**
+ * Execution metrics for every command run through {@link CommandController}
+ * and {@link CommandRegistry}. Each command, and each subcommand, keeps an
+ * invocation count, an error count and a latency histogram, all recorded
+ * without locking. Commands that take longer than the slow threshold are
+ * logged along with who ran them, with what arguments, and how long each
+ * stage of the dispatch took.
+ */
+public final class CommandMetrics {
+
+    private static final ConcurrentMap<String, Stats> stats = new ConcurrentHashMap<>();
+    private static volatile long slowThreshold = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private CommandMetrics() {}
+
+    /**
+     * Get the metrics of the given command.
+     *
+     * @param command The name of the command, followed by the path of the
+     *                subcommand if any, such as <code>arena edit spawn</code>.
+     * @return The metrics, or <b>null</b> if the command has none.
+     */
+    public static Stats get(String command) {
+        return stats.get(command.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Get the metrics of every command, keyed by command name.
+     *
+     * @return A read-only view of the metrics.
+     */
+    public static Map<String, Stats> getAll() {
+        return Collections.unmodifiableMap(stats);
+    }
+
+    /**
+     * Reset the metrics of every command.
+     */
+    public static void reset() {
+        for (Stats s : stats.values()) {
+            s.reset();
+        }
+    }
+
+    /**
+     * Get the time after which a command is logged as slow.
+     *
+     * @return The threshold, in milliseconds, or 0 if nothing is logged.
+     */
+    public static long getSlowThreshold() {
+        long threshold = slowThreshold;
+        return (threshold == Long.MAX_VALUE) ? 0 : TimeUnit.NANOSECONDS.toMillis(threshold);
+    }
+
+    /**
+     * Set the time after which a command is logged as slow.
+     *
+     * @param millis The threshold, in milliseconds, or 0 to log nothing.
+     */
+    public static void setSlowThreshold(long millis) {
+        slowThreshold = (millis > 0) ? TimeUnit.MILLISECONDS.toNanos(millis) : Long.MAX_VALUE;
+    }
+
+    static Stats forCommand(String command) {
+        return stats.computeIfAbsent(command.toLowerCase(Locale.ROOT), Stats::new);
+    }
+
+    /**
+     * The metrics of a single command. Latencies are kept in a histogram
+     * whose buckets are a power of two wide, each split into eight, so a
+     * recorded value is off by at most an eighth.
+     */
+    public static final class Stats {
+
+        private static final int SUB_BUCKET_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+        private final String name;
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+        private Stats(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getInvocations() {
+            return invocations.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public long getTotalNanos() {
+            return total.sum();
+        }
+
+        public long getMeanNanos() {
+            long count = invocations.sum();
+            return (count == 0) ? 0 : total.sum() / count;
+        }
+
+        public long getMaxNanos() {
+            return max.get();
+        }
+
+        /**
+         * Get the latency below which the given fraction of invocations
+         * completed.
+         *
+         * @param percentile The percentile, between 0 and 100.
+         * @return The latency, in nanoseconds, or 0 if nothing was recorded.
+         */
+        public long getPercentileNanos(double percentile) {
+            long[] counts = new long[BUCKETS];
+            long count = 0;
+
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets.get(i);
+                count += counts[i];
+            }
+
+            if (count == 0)
+                return 0;
+
+            long target = Math.max(1, (long) Math.ceil(count * Math.min(100, Math.max(0, percentile)) / 100));
+            long seen = 0;
+
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+
+                if (seen >= target)
+                    return Math.min(highestValue(i), max.get());
+            }
+
+            return max.get();
+        }
+
+        void record(CommandSender sender, Object args, long nanos, boolean failed) {
+            record(sender, args, nanos, failed, -1, -1);
+        }
+
+        /**
+         * Record a run of the command. Only the time spent in the handler
+         * counts towards the metrics; the time of the earlier stages is
+         * only reported when the run is logged as slow.
+         *
+         * @param nanos      The time spent in the handler.
+         * @param parseNanos The time spent parsing the arguments before the
+         *                   handler ran, or -1 if it was not measured.
+         * @param queueNanos The time the handler waited for a thread of the
+         *                   async pool, or -1 if it ran on the server thread.
+         */
+        void record(CommandSender sender, Object args, long nanos, boolean failed, long parseNanos, long queueNanos) {
+            invocations.increment();
+            total.add(nanos);
+            buckets.incrementAndGet(bucket(nanos));
+
+            if (failed)
+                errors.increment();
+
+            long current;
+
+            while (nanos > (current = max.get())) {
+                if (max.compareAndSet(current, nanos))
+                    break;
+            }
+
+            if (nanos >= slowThreshold) {
+                StringBuilder stages = new StringBuilder();
+
+                if (parseNanos >= 0)
+                    stages.append(String.format(", after %.2f ms parsing arguments", parseNanos / 1e6));
+
+                if (queueNanos >= 0)
+                    stages.append(String.format(" and %.2f ms queued for the async pool", queueNanos / 1e6));
+
+                Bukkit.getLogger().warning(String.format("[CommandController] Slow command /%s run by %s took %.2f ms" +
+                                " in its handler (threshold %d ms)%s, on thread %s with arguments %s",
+                        name, sender.getName(), nanos / 1e6, getSlowThreshold(), stages, Thread.currentThread().getName(),
+                        (args instanceof String[]) ? Arrays.toString((String[]) args) : args));
+            }
+        }
+
+        void reset() {
+            invocations.reset();
+            errors.reset();
+            total.reset();
+            max.set(0);
+
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets.set(i, 0);
+            }
+        }
+
+        private static int bucket(long value) {
+            if (value < SUB_BUCKETS)
+                return (int) Math.max(0, value);
+
+            int msb = 63 - Long.numberOfLeadingZeros(value);
+            int sub = (int) (value >>> (msb - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (msb - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+        }
+
+        private static long highestValue(int bucket) {
+            if (bucket < SUB_BUCKETS)
+                return bucket;
+
+            int msb = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            long sub = SUB_BUCKETS + (bucket % SUB_BUCKETS);
+            return ((sub + 1) << (msb - SUB_BUCKET_BITS)) - 1;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.archeinteractive.dev.commonutils.command;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A node of the routing tree built from the subcommands of a command.
+ * Each level of a subcommand path, such as <code>edit spawn add</code>,
+ * is a node keyed by its lower-cased label, so routing a command walks
+ * one map lookup per argument instead of building and hashing the
+ * full subcommand name.
+ */
+final class CommandNode {
+
+    final int depth;
+    final Map<String, CommandNode> children;
+    CommandController.SubCommand subcommand;
+
+    CommandNode() {
+        this(0);
+    }
+
+    private CommandNode(int depth) {
+        this.depth = depth;
+        this.children = new HashMap<>();
+        this.subcommand = null;
+    }
+
+    /**
+     * Attach a subcommand at the end of its path, creating any missing
+     * nodes along the way.
+     *
+     * @param subcommand The subcommand to attach.
+     */
+    void add(CommandController.SubCommand subcommand) {
+        CommandNode node = this;
+
+        for (String label : subcommand.path) {
+            CommandNode child = node.children.get(label);
+
+            if (child == null) {
+                child = new CommandNode(node.depth + 1);
+                node.children.put(label, child);
+            }
+
+            node = child;
+        }
+
+        node.subcommand = subcommand;
+    }
+
+    /**
+     * Get the child node reached by the given label, ignoring case.
+     *
+     * @param label The label to follow.
+     * @return The child, or <b>null</b> if there is none.
+     */
+    CommandNode child(String label) {
+        return children.get(label.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Find the deepest subcommand whose path matches the leading arguments.
+     * The number of arguments it consumed is the {@link #depth} of the
+     * returned node.
+     *
+     * @param args The arguments passed for the command.
+     * @return The matching node, or <b>null</b> if no subcommand matches.
+     */
+    CommandNode resolve(String[] args) {
+        CommandNode node = this;
+        CommandNode match = null;
+
+        for (int i = 0; i < args.length; i++) {
+            node = node.child(args[i]);
+
+            if (node == null)
+                break;
+
+            if (node.subcommand != null)
+                match = node;
+        }
+
+        return match;
+    }
+
+    boolean hasChildren() {
+        return !children.isEmpty();
+    }
+}
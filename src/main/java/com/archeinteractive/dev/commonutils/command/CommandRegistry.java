@@ -5,15 +5,23 @@ import org.bukkit.command.ConsoleCommandSender;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class CommandRegistry {
 
-    private static final Map<String, VirtualCommand> virtual = new HashMap<>();
+    /**
+     * Virtual commands keyed by their lower-cased label. Lookups from the
+     * event threads never lock; registration is serialised on this class so
+     * that the check-then-register steps below cannot interleave.
+     */
+    private static final ConcurrentMap<String, VirtualCommand> virtual = new ConcurrentHashMap<>();
     
-    public static void registerUniversalCommand(JavaPlugin plugin, String label, CommandAction<? super CommandSender> action) {
-        if (virtual.containsKey(label) && (virtual.get(label).hasConsoleExecution() || virtual.get(label).hasPlayerExecution())) {
+    public static synchronized void registerUniversalCommand(JavaPlugin plugin, String label, CommandAction<? super CommandSender> action) {
+        VirtualCommand v;
+
+        if ((v = getCommand(label)) != null && (v.hasConsoleExecution() || v.hasPlayerExecution())) {
             throw new IllegalArgumentException("A virtual command is already registered under the given label!");
         }
         
@@ -21,8 +29,10 @@ public class CommandRegistry {
         registerConsoleCommand(plugin, label, action);
     }
 
-    public static void registerUniversalCommand(JavaPlugin plugin, String label, String permission, CommandAction<? super CommandSender> action) {
-        if (virtual.containsKey(label) && (virtual.get(label).hasConsoleExecution() || virtual.get(label).hasPlayerExecution())) {
+    public static synchronized void registerUniversalCommand(JavaPlugin plugin, String label, String permission, CommandAction<? super CommandSender> action) {
+        VirtualCommand v;
+
+        if ((v = getCommand(label)) != null && (v.hasConsoleExecution() || v.hasPlayerExecution())) {
             throw new IllegalArgumentException("A virtual command is already registered under the given label!");
         }
 
@@ -30,12 +40,12 @@ public class CommandRegistry {
         registerConsoleCommand(plugin, label, action);
     }
     
-    public static void registerPlayerCommand(JavaPlugin plugin, String label, CommandAction<? super Player> action) {
-        VirtualCommand v = virtual.get(label);
+    public static synchronized void registerPlayerCommand(JavaPlugin plugin, String label, CommandAction<? super Player> action) {
+        VirtualCommand v = getCommand(label);
         
         if (v == null) {
-            v = new VirtualCommand(plugin.getClass());
-            virtual.put(label, v);
+            v = new VirtualCommand(plugin.getClass(), label);
+            virtual.put(key(label), v);
         }
         
         if (v.hasPlayerExecution()) {
@@ -45,12 +55,12 @@ public class CommandRegistry {
         v.player = action;
     }
 
-    public static void registerPlayerCommand(JavaPlugin plugin, String label, String permission, CommandAction<? super Player> action) {
-        VirtualCommand v = virtual.get(label);
+    public static synchronized void registerPlayerCommand(JavaPlugin plugin, String label, String permission, CommandAction<? super Player> action) {
+        VirtualCommand v = getCommand(label);
 
         if (v == null) {
-            v = new VirtualCommand(plugin.getClass(), permission);
-            virtual.put(label, v);
+            v = new VirtualCommand(plugin.getClass(), label, permission);
+            virtual.put(key(label), v);
         }
 
         if (v.hasPlayerExecution()) {
@@ -60,12 +70,12 @@ public class CommandRegistry {
         v.player = action;
     }
 
-    public static void registerConsoleCommand(JavaPlugin plugin, String label, CommandAction<? super ConsoleCommandSender> action) {
-        VirtualCommand v = virtual.get(label);
+    public static synchronized void registerConsoleCommand(JavaPlugin plugin, String label, CommandAction<? super ConsoleCommandSender> action) {
+        VirtualCommand v = getCommand(label);
 
         if (v == null) {
-            v = new VirtualCommand(plugin.getClass());
-            virtual.put(label, v);
+            v = new VirtualCommand(plugin.getClass(), label);
+            virtual.put(key(label), v);
         }
 
         if (v.hasConsoleExecution()) {
@@ -75,98 +85,136 @@ public class CommandRegistry {
         v.console = action;
     }
     
-    public static void registerUniversalSubCommand(String main_label, String sub_label, CommandAction<? super CommandSender> action) {
-        if (virtual.get(main_label) == null) {
+    public static synchronized void registerUniversalSubCommand(String main_label, String sub_label, CommandAction<? super CommandSender> action) {
+        VirtualCommand v = getCommand(main_label);
+
+        if (v == null) {
             throw new IllegalStateException("No virtual command has been registered under the given main label!");
         }
         
-        VirtualCommand v = virtual.get(main_label);
-        
         if (v.getSubCommand(sub_label) != null) {
             throw new IllegalArgumentException("A subcommand of the given sub label has already been registered for the given main label!");
         }
         
-        VirtualCommand.VirtualSubCommand s = v.new VirtualSubCommand();
-        v.subcommands.put(sub_label, s);
+        VirtualCommand.VirtualSubCommand s = v.new VirtualSubCommand(sub_label);
+        v.addSubCommand(sub_label, s);
         
         s.console = action;
         s.player = action;
     }
 
-    public static void registerUniversalSubCommand(String main_label, String sub_label, String permission, CommandAction<? super CommandSender> action) {
-        if (virtual.get(main_label) == null) {
+    public static synchronized void registerUniversalSubCommand(String main_label, String sub_label, String permission, CommandAction<? super CommandSender> action) {
+        VirtualCommand v = getCommand(main_label);
+
+        if (v == null) {
             throw new IllegalStateException("No virtual command has been registered under the given main label!");
         }
 
-        VirtualCommand v = virtual.get(main_label);
-
         if (v.getSubCommand(sub_label) != null) {
             throw new IllegalArgumentException("A subcommand of the given sub label has already been registered for the given main label!");
         }
 
-        VirtualCommand.VirtualSubCommand s = v.new VirtualSubCommand(permission);
-        v.subcommands.put(sub_label, s);
+        VirtualCommand.VirtualSubCommand s = v.new VirtualSubCommand(sub_label, permission);
+        v.addSubCommand(sub_label, s);
 
         s.console = action;
         s.player = action;
     }
     
-    public static void registerPlayerSubCommand(String main_label, String sub_label, CommandAction<? super Player> action) {
-        if (virtual.get(main_label) == null) {
+    public static synchronized void registerPlayerSubCommand(String main_label, String sub_label, CommandAction<? super Player> action) {
+        VirtualCommand v = getCommand(main_label);
+
+        if (v == null) {
             throw new IllegalStateException("No virtual command has been registered under the given main label!");
         }
         
-        VirtualCommand v = virtual.get(main_label);
-        
         if (v.getSubCommand(sub_label) != null) {
             throw new IllegalStateException("A subcommand of the given sub label has already been registered for the given main label!");
         }
         
-        VirtualCommand.VirtualSubCommand s = v.new VirtualSubCommand();
-        v.subcommands.put(sub_label, s);
+        VirtualCommand.VirtualSubCommand s = v.new VirtualSubCommand(sub_label);
+        v.addSubCommand(sub_label, s);
         
         s.player = action;
     }
 
-    public static void registerPlayerSubCommand(String main_label, String sub_label, String permission, CommandAction<? super Player> action) {
-        if (virtual.get(main_label) == null) {
+    public static synchronized void registerPlayerSubCommand(String main_label, String sub_label, String permission, CommandAction<? super Player> action) {
+        VirtualCommand v = getCommand(main_label);
+
+        if (v == null) {
             throw new IllegalStateException("No virtual command has been registered under the given main label!");
         }
 
-        VirtualCommand v = virtual.get(main_label);
-
         if (v.getSubCommand(sub_label) != null) {
             throw new IllegalStateException("A subcommand of the given sub label has already been registered for the given main label!");
         }
 
-        VirtualCommand.VirtualSubCommand s = v.new VirtualSubCommand(permission);
-        v.subcommands.put(sub_label, s);
+        VirtualCommand.VirtualSubCommand s = v.new VirtualSubCommand(sub_label, permission);
+        v.addSubCommand(sub_label, s);
 
         s.player = action;
     }
     
-    public static void registerConsoleSubCommand(String main_label, String sub_label, CommandAction<? super ConsoleCommandSender> action) {
-        if (virtual.get(main_label) == null) {
+    public static synchronized void registerConsoleSubCommand(String main_label, String sub_label, CommandAction<? super ConsoleCommandSender> action) {
+        VirtualCommand v = getCommand(main_label);
+
+        if (v == null) {
             throw new IllegalStateException("No virtual command has been registered under the given main label!");
         }
         
-        VirtualCommand v = virtual.get(main_label);
-        
         if (v.getSubCommand(sub_label) != null) {
             throw new IllegalStateException("A subcommand of the given sub label has already been registered for the given main label!");
         }
         
-        VirtualCommand.VirtualSubCommand s = v.new VirtualSubCommand();
-        v.subcommands.put(sub_label, s);
+        VirtualCommand.VirtualSubCommand s = v.new VirtualSubCommand(sub_label);
+        v.addSubCommand(sub_label, s);
         
         s.console = action;
     }
     
-    public static void unregisterVirtualCommand(String label) {
-        virtual.remove(label);
+    /**
+     * Limit how often each player may run a virtual command.
+     *
+     * @param label The label of the command.
+     * @param cooldown The rate limit, or <b>null</b> to remove it.
+     */
+    public static void setCooldown(String label, CommandCooldown cooldown) {
+        VirtualCommand v = getCommand(label);
+
+        if (v == null) {
+            throw new IllegalStateException("No virtual command has been registered under the given label!");
+        }
+
+        v.cooldown = cooldown;
+    }
+
+    /**
+     * Limit how often each player may run a virtual subcommand.
+     *
+     * @param main_label The label of the command.
+     * @param sub_label The label of the subcommand.
+     * @param cooldown The rate limit, or <b>null</b> to remove it.
+     */
+    public static void setSubCommandCooldown(String main_label, String sub_label, CommandCooldown cooldown) {
+        VirtualCommand v = getCommand(main_label);
+        VirtualCommand.VirtualSubCommand s;
+
+        if (v == null || (s = v.getSubCommand(sub_label)) == null) {
+            throw new IllegalStateException("No virtual subcommand has been registered under the given labels!");
+        }
+
+        s.cooldown = cooldown;
+    }
+    
+    public static synchronized void unregisterVirtualCommand(String label) {
+        virtual.remove(key(label));
     }
     
     static VirtualCommand getCommand(String label) {
-        return virtual.get(label);
+        return virtual.get(key(label));
+    }
+
+    static String key(String label) {
+        return label.toLowerCase(Locale.ROOT);
     }
 }
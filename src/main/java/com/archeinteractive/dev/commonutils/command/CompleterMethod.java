@@ -1,8 +1,8 @@
 package com.archeinteractive.dev.commonutils.command;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -18,70 +18,81 @@ public class CompleterMethod extends CommandMethod implements TabCompleter {
     
     /* Inherited from superclass:
      * 
-     * Method main_method;
-     * Object main_instance;
-     * Map<String, SubCommand> subcommands;
+     * String name;
+     * CommandInvoker main_invoker;
+     * CommandNode subcommands;
      */
 
     private CompleterMethod(Command command) {
-        super();
+        super(command.getName());
         commands.put(command, this);
     }
 
     @Override
-    @SuppressWarnings("unchecked")
+    CommandInvoker compile(Method method, Object instance, String path) {
+        long cacheTime = 0;
+
+        if (method.isAnnotationPresent(CommandCompleter.class))
+            cacheTime = Math.max(cacheTime, method.getAnnotation(CommandCompleter.class).cacheTime());
+
+        if (method.isAnnotationPresent(SubCommandCompleter.class))
+            cacheTime = Math.max(cacheTime, method.getAnnotation(SubCommandCompleter.class).cacheTime());
+
+        return CommandInvoker.forCompletion(method, instance, cacheTime);
+    }
+
+    @Override
     public List<String> onTabComplete(CommandSender sender, Command command, String label, String[] args) {
         // Sub Commands
         if ((args.length > 0) && hasSubCommands()) {
-            String subcommand_string = CommandController.SubCommand.toStringFor(command, args[0]);
-            CommandController.SubCommand subcommand = subcommands.get(subcommand_string);
-
-            if (subcommand != null) {
-                Method sub_method = subcommand.method;
-                Object sub_instance = subcommand.instance;
+            CommandNode node = subcommands.resolve(args);
 
-                if (compatibleParameterTypes(sub_method, sender)) {
-                    String[] sub_args = new String[args.length - 1];
+            if (node != null) {
+                CommandController.SubCommand subcommand = node.subcommand;
+                CommandInvoker sub_invoker = subcommand.invoker;
 
-                    for (int i = 1; i < args.length; i++) {
-                        sub_args[i - 1] = args[i];
-                    }
+                if (sub_invoker.accepts(sender)) {
+                    String[] sub_args = Arrays.copyOfRange(args, node.depth, args.length);
 
-                    if (subcommand.permission.equals("") || sender.hasPermission(subcommand.permission)) {
+                    if (subcommand.permission.equals("") || PermissionCache.hasPermission(sender, subcommand.permission)) {
                         try {
-                            return (List<String>) sub_method.invoke(sub_instance, sender, sub_args);
-                        } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-                            return new ArrayList<>();
+                            return shareEmpty(sub_invoker.complete(sender, sub_args));
+                        } catch (Throwable t) {
+                            return Collections.emptyList();
                         }
                     } else {
-                        return new ArrayList<>();
+                        return Collections.emptyList();
                     }
                 } else {
-                    return new ArrayList<>();
+                    return Collections.emptyList();
                 }
             }
         }
 
         // Main Command
         if (hasMainCommand()) {
-            if (compatibleParameterTypes(main_method, sender)) {
-                if ((command.getPermission() == null) || command.getPermission().equals("") || sender.hasPermission(command.getPermission())) {
+            if (main_invoker.accepts(sender)) {
+                if ((command.getPermission() == null) || command.getPermission().equals("") || PermissionCache.hasPermission(sender, command.getPermission())) {
                     try {
-                        return (List<String>) main_method.invoke(main_instance, sender, args);
-                    } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-                        return new ArrayList<>();
+                        return shareEmpty(main_invoker.complete(sender, args));
+                    } catch (Throwable t) {
+                        return Collections.emptyList();
                     }
                 } else {
-                    return new ArrayList<>();
+                    return Collections.emptyList();
                 }
             } else {
-                return new ArrayList<>();
+                return Collections.emptyList();
             }
         } else {
-            return new ArrayList<>();
+            return Collections.emptyList();
         }
     }
 
+    // A null result is passed on, so that Bukkit falls back to completing player names
+    private static List<String> shareEmpty(List<String> completions) {
+        return (completions != null && completions.isEmpty()) ? Collections.<String>emptyList() : completions;
+    }
 
     public static CompleterMethod forCommand(PluginCommand plugin_command) {
         Command command = (Command) plugin_command;
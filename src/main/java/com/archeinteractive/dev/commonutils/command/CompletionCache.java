@@ -0,0 +1,143 @@
+package com.archeinteractive.dev.commonutils.command;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bukkit.command.CommandSender;
+
+/**
+ * Caches the candidates of a tab completer so that repeated completions
+ * do not run the completer again. Candidates are keyed by the type of the
+ * sender and every argument before the one being completed, and are
+ * fetched by running the completer with that argument left empty. Each
+ * keystroke then only narrows the cached candidates, which are kept
+ * sorted so that the matches for a prefix are found by a binary search
+ * and returned as a read-only view without copying. A completer that
+ * returns <b>null</b>, leaving the completion to Bukkit, is cached as such.
+ */
+final class CompletionCache {
+
+    private static final int MAX_ENTRIES = 256;
+
+    private final long ttl;
+    private final LinkedHashMap<String, Candidates> entries;
+
+    /**
+     * @param ttl How long candidates are kept, in milliseconds.
+     */
+    CompletionCache(long ttl) {
+        this.ttl = ttl;
+        this.entries = new LinkedHashMap<String, Candidates>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Candidates> eldest) {
+                return size() > MAX_ENTRIES;
+            }
+        };
+    }
+
+    /**
+     * Complete the last of the given arguments, running the completer only
+     * if no live candidates are cached for the arguments before it.
+     *
+     * @param invoker The completer to run on a miss.
+     * @param sender  The sender who is completing the command.
+     * @param args    The arguments typed so far.
+     * @return The candidates starting with the last argument, ignoring case,
+     * or <b>null</b> if the completer returned null.
+     * @throws Throwable Anything thrown by the completer.
+     */
+    List<String> complete(CommandInvoker invoker, CommandSender sender, String[] args) throws Throwable {
+        if (args.length == 0)
+            return invoker.invokeCompleter(sender, args);
+
+        String key = key(sender, args);
+        long now = System.currentTimeMillis();
+        Candidates candidates;
+
+        synchronized (entries) {
+            candidates = entries.get(key);
+        }
+
+        if (candidates == null || candidates.expires <= now) {
+            String[] blank = args.clone();
+            blank[blank.length - 1] = "";
+            candidates = new Candidates(invoker.invokeCompleter(sender, blank), now + ttl);
+
+            synchronized (entries) {
+                entries.put(key, candidates);
+            }
+        }
+
+        return candidates.matching(args[args.length - 1]);
+    }
+
+    private static String key(CommandSender sender, String[] args) {
+        StringBuilder key = new StringBuilder(sender.getClass().getName());
+
+        for (int i = 0; i < args.length - 1; i++) {
+            key.append('\0').append(args[i]);
+        }
+
+        return key.toString();
+    }
+
+    private static final class Candidates {
+        private final String[] sorted;
+        private final List<String> all;
+        private final boolean fallback;
+        private final long expires;
+
+        private Candidates(List<String> completions, long expires) {
+            this.fallback = (completions == null);
+
+            if (completions == null || completions.isEmpty()) {
+                this.sorted = new String[0];
+            } else {
+                this.sorted = completions.toArray(new String[completions.size()]);
+                Arrays.sort(sorted, String.CASE_INSENSITIVE_ORDER);
+            }
+
+            this.all = Collections.unmodifiableList(Arrays.asList(sorted));
+            this.expires = expires;
+        }
+
+        private List<String> matching(String prefix) {
+            if (fallback)
+                return null;
+
+            if (prefix.isEmpty())
+                return all;
+
+            int from = lowerBound(prefix);
+            int to = from;
+
+            while (to < sorted.length && sorted[to].regionMatches(true, 0, prefix, 0, prefix.length())) {
+                to++;
+            }
+
+            return (from == to) ? Collections.<String>emptyList() : all.subList(from, to);
+        }
+
+        private int lowerBound(String prefix) {
+            int low = 0;
+            int high = sorted.length;
+
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+
+                if (String.CASE_INSENSITIVE_ORDER.compare(sorted[mid], prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            return low;
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package com.archeinteractive.dev.commonutils.command;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -10,6 +10,7 @@ import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.PluginCommand;
+import org.bukkit.plugin.Plugin;
 
 public class ExecutorMethod extends CommandMethod implements CommandExecutor {
 
@@ -17,65 +18,77 @@ public class ExecutorMethod extends CommandMethod implements CommandExecutor {
     
     /* Inherited from superclass:
      * 
-     * Method main_method;
-     * Object main_instance;
-     * Map<String, SubCommand> subcommands;
+     * String name;
+     * CommandInvoker main_invoker;
+     * CommandNode subcommands;
      */
 
-    private ExecutorMethod(Command command) {
-        super();
+    private final Plugin plugin;
+    private final MainThread main;
+
+    private ExecutorMethod(PluginCommand command) {
+        super(command.getName());
+        this.plugin = command.getPlugin();
+        this.main = new MainThread(plugin);
         commands.put(command, this);
     }
 
+    @Override
+    CommandInvoker compile(Method method, Object instance, String path) {
+        boolean async = false;
+        long cooldown = 0;
+        int burst = 1;
+
+        if (method.isAnnotationPresent(CommandHandler.class) && path.equals(name)) {
+            CommandHandler annotation = method.getAnnotation(CommandHandler.class);
+            async = annotation.async();
+            cooldown = annotation.cooldown();
+            burst = annotation.burst();
+        } else if (method.isAnnotationPresent(SubCommandHandler.class)) {
+            SubCommandHandler annotation = method.getAnnotation(SubCommandHandler.class);
+            async = annotation.async();
+            cooldown = annotation.cooldown();
+            burst = annotation.burst();
+        }
+
+        CommandCooldown limit = (cooldown > 0) ? new CommandCooldown(plugin, cooldown, burst) : null;
+        return CommandInvoker.forExecution(method, instance, async, limit, path);
+    }
+
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         // Sub Commands
         if ((args.length > 0) && hasSubCommands()) {
-            String subcommand_string = CommandController.SubCommand.toStringFor(command, args[0]);
-            CommandController.SubCommand subcommand = subcommands.get(subcommand_string);
+            CommandNode node = subcommands.resolve(args);
 
-            if (subcommand != null) {
-                Method sub_method = subcommand.method;
-                Object sub_instance = subcommand.instance;
+            if (node != null) {
+                CommandController.SubCommand subcommand = node.subcommand;
+                CommandInvoker sub_invoker = subcommand.invoker;
 
-                if (compatibleParameterTypes(sub_method, sender)) {
-                    String[] sub_args = new String[args.length - 1];
+                if (sub_invoker.accepts(sender)) {
+                    String[] sub_args = Arrays.copyOfRange(args, node.depth, args.length);
 
-                    for (int i = 1; i < args.length; i++) {
-                        sub_args[i - 1] = args[i];
-                    }
+                    if (subcommand.permission.equals("") || PermissionCache.hasPermission(sender, subcommand.permission)) {
+                        if (sub_invoker.cooldown != null && !sub_invoker.cooldown.check(sender))
+                            return true;
 
-                    if (subcommand.permission.equals("") || sender.hasPermission(subcommand.permission)) {
-                        Class<?> returns = sub_method.getReturnType();
+                        if (sub_invoker.async) {
+                            executeAsync(sub_invoker, sender, sub_args, subcommand.usage);
+                            return true;
+                        }
 
-                        if (Boolean.class.isAssignableFrom(returns)) {
-                            try {
-                                boolean cmdsuccess = (Boolean) sub_method.invoke(sub_instance, sender, sub_args);
+                        try {
+                            boolean cmdsuccess = sub_invoker.execute(sender, sub_args);
 
-                                if (!cmdsuccess) {
-                                    if (!subcommand.usage.equals("")) {
-                                        sender.sendMessage(subcommand.usage);
-                                    }
-                                }
-                                
-                                return cmdsuccess;
-                            } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {}
-                        } else if (boolean.class.isAssignableFrom(returns)) {
-                            try {
-                                boolean cmdsuccess = (boolean) sub_method.invoke(sub_instance, sender, sub_args);
-
-                                if (!cmdsuccess) {
-                                    if (!subcommand.usage.equals("")) {
-                                        sender.sendMessage(subcommand.usage);
-                                    }
+                            if (!cmdsuccess) {
+                                if (!subcommand.usage.equals("")) {
+                                    sender.sendMessage(subcommand.usage);
                                 }
-                                
-                                return cmdsuccess;
-                            } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {}
-                        } else {
-                            try {
-                                sub_method.invoke(sub_instance, sender, sub_args);
-                            } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {}
+                            }
+
+                            return cmdsuccess;
+                        } catch (Throwable t) {
+                            t.printStackTrace();
                         }
 
                         return true;
@@ -86,7 +99,7 @@ public class ExecutorMethod extends CommandMethod implements CommandExecutor {
                     }
                 } else {
                     sender.sendMessage(String.format("%sThis command must be run by a a %s.",
-                            ChatColor.RED, sub_method.getParameterTypes()[0].getSimpleName()));
+                            ChatColor.RED, sub_invoker.senderType.getSimpleName()));
                     return true;
                 }
             }
@@ -94,22 +107,21 @@ public class ExecutorMethod extends CommandMethod implements CommandExecutor {
 
         // Main Command
         if (hasMainCommand()) {
-            if (compatibleParameterTypes(main_method, sender)) {
-                if ((command.getPermission() == null) || command.getPermission().equals("") || sender.hasPermission(command.getPermission())) {
-                    Class<?> returns = main_method.getReturnType();
-                    
-                    if (Boolean.class.isAssignableFrom(returns)) {
-                        try {
-                            return (Boolean) main_method.invoke(main_instance, sender, args);
-                        } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {}
-                    } else if (boolean.class.isAssignableFrom(returns)) {
-                        try {
-                            return (boolean) main_method.invoke(main_instance, sender, args);
-                        } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {}
-                    } else {
-                        try {
-                            main_method.invoke(main_instance, sender, args);
-                        } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {}
+            if (main_invoker.accepts(sender)) {
+                if ((command.getPermission() == null) || command.getPermission().equals("") || PermissionCache.hasPermission(sender, command.getPermission())) {
+                    if (main_invoker.cooldown != null && !main_invoker.cooldown.check(sender))
+                        return true;
+
+                    if (main_invoker.async) {
+                        String usage = command.getUsage();
+                        executeAsync(main_invoker, sender, args, (usage == null) ? "" : usage.replace("<command>", label));
+                        return true;
+                    }
+
+                    try {
+                        return main_invoker.execute(sender, args);
+                    } catch (Throwable t) {
+                        t.printStackTrace();
                     }
 
                     return true;
@@ -120,7 +132,7 @@ public class ExecutorMethod extends CommandMethod implements CommandExecutor {
                 }
             } else {
                 sender.sendMessage(String.format("%sThis command must be run by a a %s.",
-                        ChatColor.RED, main_method.getParameterTypes()[0].getSimpleName()));
+                        ChatColor.RED, main_invoker.senderType.getSimpleName()));
                 return true;
             }
         } else {
@@ -128,6 +140,36 @@ public class ExecutorMethod extends CommandMethod implements CommandExecutor {
         }
     }
 
+    /**
+     * Run a handler on the shared command pool, sending the usage message
+     * back on the server thread if the handler reports failure. The
+     * arguments are parsed here, on the server thread, before the handler
+     * is handed to the pool.
+     */
+    private void executeAsync(final CommandInvoker invoker, final CommandSender sender, final String[] args, final String usage) {
+        final long start = System.nanoTime();
+        final Object[] values = invoker.bind(sender, args);
+
+        if (values == null)
+            return;
+
+        final long dispatched = System.nanoTime();
+
+        AsyncCommands.execute(() -> {
+            try {
+                if (!invoker.invoke(sender, args, values, dispatched - start, System.nanoTime() - dispatched)
+                        && !usage.equals("")) {
+                    main.execute(() -> {
+                        for (String line : usage.split("\n")) {
+                            sender.sendMessage(line);
+                        }
+                    });
+                }
+            } catch (Throwable t) {
+                t.printStackTrace();
+            }
+        });
+    }
 
     public static ExecutorMethod forCommand(PluginCommand plugin_command) {
         Command command = (Command) plugin_command;
@@ -135,7 +177,7 @@ public class ExecutorMethod extends CommandMethod implements CommandExecutor {
         if (commands.containsKey(command)) {
             return commands.get(command);
         } else {
-            return new ExecutorMethod(command);
+            return new ExecutorMethod(plugin_command);
         }
     }
 }
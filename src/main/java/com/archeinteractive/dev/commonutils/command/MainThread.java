@@ -0,0 +1,61 @@
+package com.archeinteractive.dev.commonutils.command;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * An Executor that runs tasks on the server thread, for handing the
+ * results of asynchronous commands back to code that may touch the world.
+ * Tasks submitted from the server thread run immediately; tasks submitted
+ * from any other thread are scheduled for the next tick.
+ */
+public final class MainThread implements Executor {
+
+    private final Plugin plugin;
+
+    /**
+     * @param plugin The plugin to schedule tasks under.
+     */
+    public MainThread(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Run the given task on the server thread.
+     *
+     * @param task The task to run.
+     */
+    @Override
+    public void execute(Runnable task) {
+        if (Bukkit.isPrimaryThread()) {
+            task.run();
+        } else {
+            Bukkit.getScheduler().runTask(plugin, task);
+        }
+    }
+
+    /**
+     * Compute a value on the server thread.
+     *
+     * @param task The task to run.
+     * @param <V>  The type of the value.
+     * @return A future for the value computed by the task.
+     */
+    public <V> CompletableFuture<V> supply(final Callable<V> task) {
+        final CompletableFuture<V> future = new CompletableFuture<>();
+
+        execute(() -> {
+            try {
+                future.complete(task.call());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+
+        return future;
+    }
+}
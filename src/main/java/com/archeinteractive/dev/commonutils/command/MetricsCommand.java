@@ -0,0 +1,79 @@
+package com.archeinteractive.dev.commonutils.command;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+
+/**
+ * The <code>/commandstats</code> command, which reports the
+ * {@link CommandMetrics} of the commands run on the server.
+ */
+public class MetricsCommand {
+
+    private static final int LIST_SIZE = 10;
+
+    @CommandHandler(name = "commandstats", description = "Show command execution metrics.",
+            usage = "/<command> [command|reset|threshold [ms]]", permission = "commonutils.commandstats")
+    public void stats(CommandSender sender, Optional<String> command) {
+        if (command.isPresent()) {
+            CommandMetrics.Stats stats = CommandMetrics.get(command.get());
+
+            if (stats == null) {
+                sender.sendMessage(ChatColor.RED + "No metrics have been recorded for /" + command.get() + ".");
+            } else {
+                sender.sendMessage(describe(stats));
+            }
+
+            return;
+        }
+
+        List<CommandMetrics.Stats> all = new ArrayList<>(CommandMetrics.getAll().values());
+        all.sort(Comparator.comparingLong(CommandMetrics.Stats::getTotalNanos).reversed());
+
+        long threshold = CommandMetrics.getSlowThreshold();
+        sender.sendMessage(String.format("%sCommands by total time (slow threshold %s):",
+                ChatColor.GOLD, (threshold > 0) ? threshold + " ms" : "disabled"));
+
+        for (int i = 0; i < Math.min(LIST_SIZE, all.size()); i++) {
+            sender.sendMessage(describe(all.get(i)));
+        }
+
+        if (PermissionCache.getTimeToLive() > 0) {
+            sender.sendMessage(String.format("%sPermission cache: %.1f%% hits over %d checks (TTL %d ms)",
+                    ChatColor.GOLD, PermissionCache.getHitRatio() * 100, PermissionCache.getHits() + PermissionCache.getMisses(),
+                    PermissionCache.getTimeToLive()));
+        }
+    }
+
+    @SubCommandHandler(parent = "commandstats", name = "reset", permission = "commonutils.commandstats")
+    public void reset(CommandSender sender, String[] args) {
+        CommandMetrics.reset();
+        PermissionCache.resetStatistics();
+        sender.sendMessage(ChatColor.GREEN + "Command metrics have been reset.");
+    }
+
+    @SubCommandHandler(parent = "commandstats", name = "threshold", permission = "commonutils.commandstats")
+    public void threshold(CommandSender sender, Optional<Long> millis) {
+        if (millis.isPresent())
+            CommandMetrics.setSlowThreshold(millis.get());
+
+        long threshold = CommandMetrics.getSlowThreshold();
+
+        if (threshold > 0) {
+            sender.sendMessage(ChatColor.GREEN + "Commands slower than " + threshold + " ms are logged.");
+        } else {
+            sender.sendMessage(ChatColor.GREEN + "Slow command logging is disabled.");
+        }
+    }
+
+    private static String describe(CommandMetrics.Stats stats) {
+        return String.format("%s/%s%s: %d runs, %d errors, mean %.2f ms, p50 %.2f ms, p99 %.2f ms, max %.2f ms",
+                ChatColor.YELLOW, stats.getName(), ChatColor.GRAY, stats.getInvocations(), stats.getErrors(),
+                stats.getMeanNanos() / 1e6, stats.getPercentileNanos(50) / 1e6,
+                stats.getPercentileNanos(99) / 1e6, stats.getMaxNanos() / 1e6);
+    }
+}
@@ -0,0 +1,147 @@
+package com.archeinteractive.dev.commonutils.command;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+
+/**
+ * Turns the raw arguments of a command into the typed parameters of a
+ * handler method such as <code>(Player, int, World, Optional&lt;String&gt;)</code>.
+ * The parser for every parameter is resolved once, when the handler is
+ * registered. Parameters wrapped in an Optional may be left out, and a
+ * trailing <code>String[]</code> parameter receives any remaining arguments.
+ */
+final class ParameterBinder {
+
+    private final ArgumentParser<?>[] parsers;
+    private final String[] names;
+    private final boolean[] optional;
+    private final int required;
+    private final boolean rest;
+    private final String usage;
+
+    /**
+     * @param method The handler method, whose first parameter is the sender.
+     * @throws UnparsableParameterException If a parameter has no parser.
+     */
+    ParameterBinder(Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        Type[] generics = method.getGenericParameterTypes();
+
+        this.rest = (types.length > 1) && String[].class.equals(types[types.length - 1]);
+
+        int count = types.length - 1 - (rest ? 1 : 0);
+        this.parsers = new ArgumentParser<?>[count];
+        this.names = new String[count];
+        this.optional = new boolean[count];
+
+        StringBuilder usage = new StringBuilder();
+        int required = 0;
+
+        for (int i = 0; i < count; i++) {
+            Class<?> type = types[i + 1];
+
+            if (Optional.class.equals(type)) {
+                type = optionalType(generics[i + 1]);
+                optional[i] = true;
+            } else if (required < i) {
+                throw new UnparsableParameterException("parameter " + (i + 1) + " must be Optional as it follows an Optional parameter");
+            } else {
+                required++;
+            }
+
+            parsers[i] = ArgumentParsers.getParser(type);
+            names[i] = ArgumentParsers.getName(type);
+
+            if (parsers[i] == null)
+                throw new UnparsableParameterException("there is no ArgumentParser for parameters of type " + type.getName());
+
+            usage.append(optional[i] ? " [" : " <").append(names[i]).append(optional[i] ? "]" : ">");
+        }
+
+        if (rest)
+            usage.append(" [...]");
+
+        this.required = required;
+        this.usage = usage.toString().trim();
+    }
+
+    /**
+     * Test whether the given method takes the raw <code>(CommandSender, String[])</code>
+     * parameters, and so needs no binder.
+     *
+     * @param method The handler method.
+     * @return <b>true</b> if the method takes raw arguments.
+     */
+    static boolean isRaw(Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        return types.length == 2 && CommandSender.class.isAssignableFrom(types[0]) && String[].class.equals(types[1]);
+    }
+
+    /**
+     * Get the number of parameters of the handler, including the sender.
+     *
+     * @return The number of parameters.
+     */
+    int getParameterCount() {
+        return parsers.length + 1 + (rest ? 1 : 0);
+    }
+
+    /**
+     * Parse the given arguments into the parameters of the handler. If an
+     * argument is missing or not valid, the sender is told why.
+     *
+     * @param sender The sender who ran the command.
+     * @param args   The arguments passed for the command.
+     * @return The parameters, starting with the sender, or <b>null</b> if
+     * the arguments could not be parsed.
+     */
+    Object[] bind(CommandSender sender, String[] args) {
+        if (args.length < required || (!rest && args.length > parsers.length)) {
+            sender.sendMessage(ChatColor.RED + "Expected arguments: " + usage);
+            return null;
+        }
+
+        Object[] values = new Object[getParameterCount()];
+        values[0] = sender;
+
+        for (int i = 0; i < parsers.length; i++) {
+            Object value = null;
+
+            if (i < args.length) {
+                value = parsers[i].parse(args[i]);
+
+                if (value == null) {
+                    sender.sendMessage(String.format("%s'%s' is not a valid %s.", ChatColor.RED, args[i], names[i]));
+                    return null;
+                }
+            }
+
+            values[i + 1] = optional[i] ? Optional.ofNullable(value) : value;
+        }
+
+        if (rest) {
+            values[values.length - 1] = (args.length > parsers.length)
+                    ? Arrays.copyOfRange(args, parsers.length, args.length)
+                    : new String[0];
+        }
+
+        return values;
+    }
+
+    private static Class<?> optionalType(Type type) {
+        if (type instanceof ParameterizedType) {
+            Type argument = ((ParameterizedType) type).getActualTypeArguments()[0];
+
+            if (argument instanceof Class)
+                return (Class<?>) argument;
+        }
+
+        throw new UnparsableParameterException("optional parameters must name the type they hold");
+    }
+}
@@ -0,0 +1,169 @@
+package com.archeinteractive.dev.commonutils.command;
+
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Caches the permission checks made when commands are run or tab completed,
+ * so that an expensive permission plugin is asked at most once per player
+ * and permission within the cache's time to live. The cache is off until
+ * {@link #setTimeToLive(Plugin, long)} is given a positive time, which also
+ * registers the listener that drops a player's decisions when they quit or
+ * change worlds. Decisions should be dropped with {@link #invalidate(UUID)}
+ * whenever a player's permissions change. Expired decisions are purged at
+ * most once per time to live, when a check misses the cache. Senders other
+ * than players are never cached.
+ */
+public final class PermissionCache {
+
+    private static final ConcurrentMap<UUID, ConcurrentMap<String, Decision>> players = new ConcurrentHashMap<>();
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static volatile long ttl = 0;
+    private static volatile long nextPurge = 0;
+
+    private PermissionCache() {}
+
+    /**
+     * Get the time for which permission decisions are cached.
+     *
+     * @return The time to live, in milliseconds, or 0 if caching is off.
+     */
+    public static long getTimeToLive() {
+        return ttl;
+    }
+
+    /**
+     * Set the time for which permission decisions are cached. Cached
+     * decisions are dropped. If caching is turned on, the listener that
+     * drops a player's decisions when they quit or change worlds is
+     * registered under the given plugin, unless it already has been.
+     *
+     * @param plugin The plugin to register the listener under, if needed.
+     * @param millis The time to live, in milliseconds, or 0 to turn caching off.
+     */
+    public static void setTimeToLive(Plugin plugin, long millis) {
+        if (millis > 0)
+            CommandListener.setup(plugin);
+
+        ttl = Math.max(0, millis);
+        invalidateAll();
+    }
+
+    /**
+     * Test whether the given sender has a permission, using a cached
+     * decision if there is a live one.
+     *
+     * @param sender     The sender to test.
+     * @param permission The permission to test for.
+     * @return <b>true</b> if the sender has the permission.
+     */
+    public static boolean hasPermission(CommandSender sender, String permission) {
+        long ttl = PermissionCache.ttl;
+
+        if (ttl == 0 || !(sender instanceof Player))
+            return sender.hasPermission(permission);
+
+        UUID uuid = ((Player) sender).getUniqueId();
+        ConcurrentMap<String, Decision> decisions = players.get(uuid);
+
+        if (decisions == null) {
+            decisions = new ConcurrentHashMap<>();
+            ConcurrentMap<String, Decision> existing = players.putIfAbsent(uuid, decisions);
+
+            if (existing != null)
+                decisions = existing;
+        }
+
+        long now = System.currentTimeMillis();
+        Decision decision = decisions.get(permission);
+
+        if (decision != null && decision.expires > now) {
+            hits.increment();
+            return decision.allowed;
+        }
+
+        misses.increment();
+        boolean allowed = sender.hasPermission(permission);
+        decisions.put(permission, new Decision(allowed, now + ttl));
+
+        if (now >= nextPurge) {
+            nextPurge = now + ttl;
+            purgeExpired(now);
+        }
+
+        return allowed;
+    }
+
+    private static void purgeExpired(long now) {
+        Iterator<ConcurrentMap<String, Decision>> it = players.values().iterator();
+
+        while (it.hasNext()) {
+            ConcurrentMap<String, Decision> decisions = it.next();
+            decisions.values().removeIf(decision -> decision.expires <= now);
+
+            if (decisions.isEmpty())
+                it.remove();
+        }
+    }
+
+    /**
+     * Drop the cached decisions of the given player.
+     *
+     * @param uuid The UUID of the player.
+     */
+    public static void invalidate(UUID uuid) {
+        players.remove(uuid);
+    }
+
+    /**
+     * Drop every cached decision.
+     */
+    public static void invalidateAll() {
+        players.clear();
+    }
+
+    public static long getHits() {
+        return hits.sum();
+    }
+
+    public static long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Get the fraction of permission checks that were answered from the cache.
+     *
+     * @return The hit ratio, between 0 and 1, or 0 if nothing was checked.
+     */
+    public static double getHitRatio() {
+        long hits = getHits();
+        long total = hits + getMisses();
+        return (total == 0) ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Reset the hit and miss counts.
+     */
+    public static void resetStatistics() {
+        hits.reset();
+        misses.reset();
+    }
+
+    private static final class Decision {
+        private final boolean allowed;
+        private final long expires;
+
+        private Decision(boolean allowed, long expires) {
+            this.allowed = allowed;
+            this.expires = expires;
+        }
+    }
+}
@@ -13,6 +13,10 @@ import java.lang.annotation.Target;
  * When registering a handler with this class, only
  * methods marked with this annotation will be
  * considered for subcommand completion registration.
+ * <p>
+ * Subcommands may be nested by giving the full path
+ * as the name, separated by spaces, such as
+ * <code>"edit spawn add"</code>.
  */
 @Inherited
 @Documented
@@ -23,4 +27,13 @@ public @interface SubCommandCompleter {
     String parent();
     
     String name();
+
+    /**
+     * How long, in milliseconds, the completions of this method may be
+     * cached. While cached, the method is run once per sender type and set
+     * of preceding arguments, with the argument being completed left empty,
+     * and its results are filtered by what has been typed. 0 runs the
+     * method on every completion.
+     */
+    long cacheTime() default 0;
 }
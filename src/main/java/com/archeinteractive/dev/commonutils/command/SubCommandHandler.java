@@ -13,6 +13,10 @@ import java.lang.annotation.Target;
  * When registering a handler with this class, only
  * methods marked with this annotation will be
  * considered for subcommand registration.
+ * <p>
+ * Subcommands may be nested by giving the full path
+ * as the name, separated by spaces, such as
+ * <code>"edit spawn add"</code>.
  *
  * @originalauthor AmoebaMan
  */
@@ -30,4 +34,25 @@ public @interface SubCommandHandler {
     String permission() default "";
 
     String permissionMessage() default "You do not have permission to use that command";
+
+    /**
+     * Whether the method should run off the server thread. Asynchronous
+     * handlers are run on a shared pool once the sender and permission
+     * checks have passed, and must not touch the world directly; a
+     * {@link MainThread} can be used to hand work back to the server.
+     */
+    boolean async() default false;
+
+    /**
+     * The time, in milliseconds, it takes for a player to earn another use
+     * of the command, or 0 for no limit. Players who have run out of uses
+     * are turned away before the method is invoked.
+     */
+    long cooldown() default 0;
+
+    /**
+     * The number of uses a player may make in a row before the cooldown
+     * applies.
+     */
+    int burst() default 1;
 }
@@ -0,0 +1,14 @@
+package com.archeinteractive.dev.commonutils.command;
+
+/**
+ * Thrown when a command handler is registered with a typed parameter that
+ * no {@link ArgumentParser} can be resolved for.
+ */
+public class UnparsableParameterException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    public UnparsableParameterException(String message) {
+        super(message);
+    }
+}
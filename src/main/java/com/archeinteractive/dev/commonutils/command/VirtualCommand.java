@@ -1,13 +1,13 @@
 package com.archeinteractive.dev.commonutils.command;
 
 import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
 import org.bukkit.command.ConsoleCommandSender;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * A Class for representing a VirtualCommand, which is registered from an
@@ -16,29 +16,34 @@ import java.util.Map;
 class VirtualCommand {
 
     final Class<? extends JavaPlugin> plugincls;
-    final Map<String, VirtualSubCommand> subcommands;
+    final String label;
+    final ConcurrentMap<String, VirtualSubCommand> subcommands;
+    final CommandMetrics.Stats stats;
     volatile CommandAction<? super Player> player;
     volatile CommandAction<? super ConsoleCommandSender> console;
     volatile String permission = "";
+    volatile CommandCooldown cooldown;
 
-    VirtualCommand(Class<? extends JavaPlugin> plugincls) {
+    VirtualCommand(Class<? extends JavaPlugin> plugincls, String label) {
         this.plugincls = plugincls;
-        this.subcommands = new HashMap<>();
+        this.label = CommandRegistry.key(label);
+        this.subcommands = new ConcurrentHashMap<>();
+        this.stats = CommandMetrics.forCommand(this.label);
         this.player = null;
         this.console = null;
     }
 
-    VirtualCommand(Class<? extends JavaPlugin> plugincls, String permission) {
-        this(plugincls);
+    VirtualCommand(Class<? extends JavaPlugin> plugincls, String label, String permission) {
+        this(plugincls, label);
         this.permission = permission;
     }
     
-    boolean invokeConsole(ConsoleCommandSender sender, String[] args) {
+    boolean invokeConsole(ConsoleCommandSender sender, ArgumentView args) {
         VirtualSubCommand s;
         
-        if (args.length < 1 || (s = getSubCommand(args[0])) == null) {
+        if (args.isEmpty() || (s = getSubCommand(args.get(0))) == null) {
             if (hasConsoleExecution()) {
-                console.invoke(sender, args);
+                invoke(stats, console, sender, args);
                 return true;
             }
             
@@ -46,20 +51,21 @@ class VirtualCommand {
         }
         
         if (s.hasConsoleExecution()) {
-            s.console.invoke(sender, Arrays.copyOfRange(args, 1, args.length));
+            invoke(s.stats, s.console, sender, args.slice(1));
             return true;
         }
         
         return false;
     }
     
-    boolean invokePlayer(Player sender, String[] args) {
+    boolean invokePlayer(Player sender, ArgumentView args) {
         VirtualSubCommand s;
         
-        if (args.length < 1 || (s = getSubCommand(args[0])) == null) {
+        if (args.isEmpty() || (s = getSubCommand(args.get(0))) == null) {
             if (hasPlayerExecution()) {
-                if (permission.equalsIgnoreCase("") || sender.hasPermission(permission)) {
-                    player.invoke(sender, args);
+                if (permission.equalsIgnoreCase("") || PermissionCache.hasPermission(sender, permission)) {
+                    if (cooldown == null || cooldown.check(sender))
+                        invoke(stats, player, sender, args);
                 } else {
                     sender.sendMessage(ChatColor.RED + "You do not have permission to use this command!");
                 }
@@ -70,8 +76,9 @@ class VirtualCommand {
         }
         
         if (s.hasPlayerExecution()) {
-            if (permission.equalsIgnoreCase("") || sender.hasPermission(permission)) {
-                s.player.invoke(sender, Arrays.copyOfRange(args, 1, args.length));
+            if (permission.equalsIgnoreCase("") || PermissionCache.hasPermission(sender, permission)) {
+                if (s.cooldown == null || s.cooldown.check(sender))
+                    invoke(s.stats, s.player, sender, args.slice(1));
             } else {
                 sender.sendMessage(ChatColor.RED + "You do not have permission to use this command!");
             }
@@ -81,6 +88,21 @@ class VirtualCommand {
         return false;
     }
 
+    /**
+     * Run an action, recording how long it took in the given metrics.
+     */
+    private static <S extends CommandSender> void invoke(CommandMetrics.Stats stats, CommandAction<? super S> action, S sender, ArgumentView args) {
+        long start = System.nanoTime();
+        boolean failed = true;
+
+        try {
+            action.invoke(sender, args);
+            failed = false;
+        } finally {
+            stats.record(sender, args, System.nanoTime() - start, failed);
+        }
+    }
+
     public String toString() {
         return String.format("VirtualCommand{plugin=%s,p exec=%s, c exec=%s}",
                 plugincls.getSimpleName(), hasPlayerExecution(), hasConsoleExecution());
@@ -94,25 +116,41 @@ class VirtualCommand {
         return console != null;
     }
     
+    /**
+     * Get the subcommand registered under the given label, ignoring case.
+     *
+     * @param sub_label The label of the subcommand.
+     * @return The subcommand, or <b>null</b> if none is registered.
+     */
     VirtualSubCommand getSubCommand(String sub_label) {
-        for (Map.Entry<String, VirtualSubCommand> entry : subcommands.entrySet()) {
-            if (sub_label.equalsIgnoreCase(entry.getKey())) {
-                return entry.getValue();
-            }
-        }
-        
-        return null;
+        return subcommands.get(CommandRegistry.key(sub_label));
+    }
+
+    /**
+     * Register a subcommand under the given label, ignoring case.
+     *
+     * @param sub_label The label of the subcommand.
+     * @param subcommand The subcommand to register.
+     * @return <b>true</b> if it was registered, <b>false</b> if the label was taken.
+     */
+    boolean addSubCommand(String sub_label, VirtualSubCommand subcommand) {
+        return subcommands.putIfAbsent(CommandRegistry.key(sub_label), subcommand) == null;
     }
 
     class VirtualSubCommand {
     
+        final CommandMetrics.Stats stats;
         volatile CommandAction<? super Player> player;
         volatile CommandAction<? super ConsoleCommandSender> console;
         volatile String permission;
+        volatile CommandCooldown cooldown;
 
-        public VirtualSubCommand() {}
+        public VirtualSubCommand(String label) {
+            this.stats = CommandMetrics.forCommand(VirtualCommand.this.label + " " + CommandRegistry.key(label));
+        }
 
-        public VirtualSubCommand(String permission) {
+        public VirtualSubCommand(String label, String permission) {
+            this(label);
             this.permission = permission;
         }
         
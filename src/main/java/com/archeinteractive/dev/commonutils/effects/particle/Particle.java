@@ -6,7 +6,6 @@ import org.bukkit.Location;
 import org.bukkit.entity.Player;
 
 import com.archeinteractive.dev.commonutils.network.packets.WrapperPlayOutWorldParticles;
-import com.archeinteractive.dev.commonutils.reflection.EntityHandler;
 
 /**
  * A serializable class for representing a Particle Effect.
@@ -39,12 +38,7 @@ public class Particle implements Serializable {
      * @param players  The players to display particles to.
      */
     public void play(Location location, Player... players) {
-        Object packet = new WrapperPlayOutWorldParticles(name)
-            .setLocation(location)
-            .setDeviations(x, y, z)
-            .setSpeed(speed)
-            .setAmount(amount).get();
-        EntityHandler.sendPacket(players, packet);
+        wrap(location).send(players);
     }
 
     /**
@@ -55,6 +49,14 @@ public class Particle implements Serializable {
      * @param location The location to display particles at.
      */
     public void play(Location location) {
-        play(location, location.getWorld().getPlayers().toArray(new Player[0]));
+        wrap(location).sendToWorld(location.getWorld());
+    }
+
+    private WrapperPlayOutWorldParticles wrap(Location location) {
+        return new WrapperPlayOutWorldParticles(name)
+            .setLocation(location)
+            .setDeviations(x, y, z)
+            .setSpeed(speed)
+            .setAmount(amount);
     }
 }
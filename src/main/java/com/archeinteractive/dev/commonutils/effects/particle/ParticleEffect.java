@@ -6,7 +6,6 @@ import org.bukkit.entity.Player;
 import org.bukkit.material.MaterialData;
 
 import com.archeinteractive.dev.commonutils.network.packets.WrapperPlayOutWorldParticles;
-import com.archeinteractive.dev.commonutils.reflection.EntityHandler;
 
 public enum ParticleEffect {
 
@@ -88,12 +87,7 @@ public enum ParticleEffect {
      * @param players  The player(s) that should see these particles.
      */
     public void send(Location location, float xDev, float yDev, float zDev, float speed, int amount, Player... players) {
-        Object packet = new WrapperPlayOutWorldParticles(particleName)
-            .setLocation(location)
-            .setDeviations(xDev, yDev, zDev)
-            .setSpeed(speed)
-            .setAmount(amount).get();
-        EntityHandler.sendPacket(players, packet);
+        wrap(particleName, location, xDev, yDev, zDev, speed, amount).send(players);
     }
 
     /**
@@ -112,7 +106,7 @@ public enum ParticleEffect {
      * @param amount   The number of particles to display.
      */
     public void send(Location location, float xDev, float yDev, float zDev, float speed, int amount) {
-        send(location, xDev, yDev, zDev, speed, amount, location.getWorld().getPlayers().toArray(new Player[0]));
+        wrap(particleName, location, xDev, yDev, zDev, speed, amount).sendToWorld(location.getWorld());
     }
 
     // Particles that take on the appearance of blocks
@@ -158,16 +152,8 @@ public enum ParticleEffect {
          * @param amount       The number of particles to display.
          * @param players      The player(s) that should see these particles.
          */
-        @SuppressWarnings("deprecation")
         public static void send(MaterialData materialdata, Location location, float xDev, float yDev, float zDev, float speed, int amount, Player... players) {
-            int id = materialdata.getItemType().getId();
-            byte data = materialdata.getData() > 0 ? materialdata.getData() : 0;
-            Object packet = new WrapperPlayOutWorldParticles("blockdust_" + id + "_" + data)
-                .setLocation(location)
-                .setDeviations(xDev, yDev, zDev)
-                .setSpeed(speed)
-                .setAmount(amount).get();
-            EntityHandler.sendPacket(players, packet);
+            wrap(getName(materialdata), location, xDev, yDev, zDev, speed, amount).send(players);
         }
 
         /**
@@ -187,7 +173,14 @@ public enum ParticleEffect {
          * @param amount       The number of particles to display.
          */
         public static void send(MaterialData materialdata, Location location, float xDev, float yDev, float zDev, float speed, int amount) {
-            send(materialdata, location, xDev, yDev, zDev, speed, amount, location.getWorld().getPlayers().toArray(new Player[0]));
+            wrap(getName(materialdata), location, xDev, yDev, zDev, speed, amount).sendToWorld(location.getWorld());
+        }
+
+        @SuppressWarnings("deprecation")
+        private static String getName(MaterialData materialdata) {
+            int id = materialdata.getItemType().getId();
+            byte data = materialdata.getData() > 0 ? materialdata.getData() : 0;
+            return "blockdust_" + id + "_" + data;
         }
     }
 
@@ -235,13 +228,7 @@ public enum ParticleEffect {
          */
         @SuppressWarnings("deprecation")
         public static void send(Material material, Location location, float xDev, float yDev, float zDev, float speed, int amount, Player... players) {
-            int id = material.getId();
-            Object packet = new WrapperPlayOutWorldParticles("iconcrack_" + id)
-                .setLocation(location)
-                .setDeviations(xDev, yDev, zDev)
-                .setSpeed(speed)
-                .setAmount(amount).get();
-            EntityHandler.sendPacket(players, packet);
+            wrap("iconcrack_" + material.getId(), location, xDev, yDev, zDev, speed, amount).send(players);
         }
 
         /**
@@ -260,8 +247,9 @@ public enum ParticleEffect {
          * @param speed    A value representing how fast the particle will move.
          * @param amount   The number of particles to display.
          */
+        @SuppressWarnings("deprecation")
         public static void send(Material material, Location location, float xDev, float yDev, float zDev, float speed, int amount) {
-            send(material, location, xDev, yDev, zDev, speed, amount, location.getWorld().getPlayers().toArray(new Player[0]));
+            wrap("iconcrack_" + material.getId(), location, xDev, yDev, zDev, speed, amount).sendToWorld(location.getWorld());
         }
     }
 
@@ -273,11 +261,14 @@ public enum ParticleEffect {
      * in a later version.
      */
     public static void sendPacket(Player player, Location location, ParticleEffect effect, float xDev, float yDev, float zDev, float speed, int amount) {
-        Object packet = new WrapperPlayOutWorldParticles(effect.particleName)
+        wrap(effect.particleName, location, xDev, yDev, zDev, speed, amount).send(player);
+    }
+
+    private static WrapperPlayOutWorldParticles wrap(String name, Location location, float xDev, float yDev, float zDev, float speed, int amount) {
+        return new WrapperPlayOutWorldParticles(name)
             .setLocation(location)
             .setDeviations(xDev, yDev, zDev)
             .setSpeed(speed)
-            .setAmount(amount).get();
-        EntityHandler.sendPacket(player, packet);
+            .setAmount(amount);
     }
 }
@@ -0,0 +1,250 @@
+package com.archeinteractive.dev.commonutils.network;
+
+import java.net.HttpURLConnection;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import com.archeinteractive.dev.commonutils.CommonUtils;
+
+/**
+ * A non-blocking counterpart to {@link UUIDFetcher}. Names are split into
+ * batches that are posted to the profile endpoint on a bounded pool of
+ * threads, spaced out by a token bucket rather than a fixed sleep. A name
+ * that is already being looked up is not requested a second time; callers
+ * share the pending result instead. Names held by the {@link UUIDCache} are
+ * answered from it, and the results of every request are recorded in it.
+ * <p/>
+ * Each fetcher owns its pool of threads until {@link #shutdown()} is called.
+ * Plugins should share the fetcher from {@link CommonUtils#getUUIDFetcher()},
+ * which is shut down when CommonUtils is disabled, or shut down their own.
+ */
+public class AsyncUUIDFetcher {
+    private static final int DEFAULT_THREADS = 2;
+    private static final double DEFAULT_REQUESTS_PER_SECOND = 10;
+
+    private final String profileUrl;
+    private final ScheduledExecutorService executor;
+    private final TokenBucket bucket;
+    private final UUIDCache cache;
+    private final ConcurrentMap<String, CompletableFuture<UUID>> pending = new ConcurrentHashMap<String, CompletableFuture<UUID>>();
+
+    public AsyncUUIDFetcher() {
+        this(UUIDFetcher.PROFILE_URL, DEFAULT_THREADS, DEFAULT_REQUESTS_PER_SECOND);
+    }
+
+    /**
+     * @param profileUrl        The profile endpoint to post names to.
+     * @param threads           The maximum number of requests in flight at once.
+     * @param requestsPerSecond The sustained rate at which requests may be made.
+     */
+    public AsyncUUIDFetcher(String profileUrl, int threads, double requestsPerSecond) {
+        this(profileUrl, threads, requestsPerSecond, CommonUtils.getUUIDCache());
+    }
+
+    /**
+     * @param profileUrl        The profile endpoint to post names to.
+     * @param threads           The maximum number of requests in flight at once.
+     * @param requestsPerSecond The sustained rate at which requests may be made.
+     * @param cache             The cache to consult and record results in, or
+     *                          <b>null</b> to always request every name.
+     */
+    public AsyncUUIDFetcher(String profileUrl, int threads, double requestsPerSecond, UUIDCache cache) {
+        if (threads < 1)
+            throw new IllegalArgumentException("At least one thread is required!");
+
+        if (requestsPerSecond <= 0)
+            throw new IllegalArgumentException("The request rate must be positive!");
+
+        this.profileUrl = profileUrl;
+        this.executor = new ScheduledThreadPoolExecutor(threads, new FetcherThreadFactory());
+        this.bucket = new TokenBucket(requestsPerSecond, Math.max(1, threads));
+        this.cache = cache;
+    }
+
+    /**
+     * Look up the UUIDs of the given names.
+     *
+     * @param names The names to look up.
+     * @return A future for a map from each requested name that exists to its UUID.
+     */
+    public CompletableFuture<Map<String, UUID>> fetch(Collection<String> names) {
+        return fetch(names, cache);
+    }
+
+    /**
+     * Look up the UUIDs of the given names, consulting and recording results
+     * in the given cache.
+     *
+     * @param names The names to look up.
+     * @param cache The cache to use, or <b>null</b> to request every name.
+     * @return A future for a map from each requested name that exists to its UUID.
+     */
+    CompletableFuture<Map<String, UUID>> fetch(Collection<String> names, final UUIDCache cache) {
+        final Map<String, CompletableFuture<UUID>> futures = new LinkedHashMap<String, CompletableFuture<UUID>>();
+        final Map<String, UUID> cached = new HashMap<String, UUID>();
+        List<String> batch = new ArrayList<String>();
+
+        if (cache != null)
+            names = cache.collect(names, cached);
+
+        for (String name : names) {
+            if (futures.containsKey(name))
+                continue;
+
+            String key = name.toLowerCase(Locale.ROOT);
+            CompletableFuture<UUID> future = pending.get(key);
+
+            if (future == null) {
+                CompletableFuture<UUID> created = new CompletableFuture<UUID>();
+                future = pending.putIfAbsent(key, created);
+
+                if (future == null) {
+                    future = created;
+                    batch.add(name);
+
+                    if (batch.size() >= UUIDFetcher.PROFILES_PER_REQUEST) {
+                        submit(batch, cache);
+                        batch = new ArrayList<String>();
+                    }
+                }
+            }
+
+            futures.put(name, future);
+        }
+
+        if (!batch.isEmpty())
+            submit(batch, cache);
+
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[futures.size()]))
+                .thenApply(new Function<Void, Map<String, UUID>>() {
+                    @Override
+                    public Map<String, UUID> apply(Void ignored) {
+                        Map<String, UUID> uuidMap = new HashMap<String, UUID>(cached);
+                        for (Map.Entry<String, CompletableFuture<UUID>> entry : futures.entrySet()) {
+                            UUID uuid = entry.getValue().join();
+                            if (uuid != null) {
+                                uuidMap.put(entry.getKey(), uuid);
+                            }
+                        }
+                        return uuidMap;
+                    }
+                });
+    }
+
+    /**
+     * Look up the UUID of a single name.
+     *
+     * @param name The name to look up.
+     * @return A future for the UUID, completed with <b>null</b> if the name does not exist.
+     */
+    public CompletableFuture<UUID> fetch(final String name) {
+        return fetch(Collections.singletonList(name)).thenApply(new Function<Map<String, UUID>, UUID>() {
+            @Override
+            public UUID apply(Map<String, UUID> uuidMap) {
+                return uuidMap.get(name);
+            }
+        });
+    }
+
+    /**
+     * Stop accepting lookups. Requests already scheduled are still made.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void submit(final List<String> batch, final UUIDCache cache) {
+        try {
+            executor.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    request(batch, cache);
+                }
+            }, bucket.reserve(), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            complete(batch, Collections.<String, UUID>emptyMap(), e, cache);
+        }
+    }
+
+    private void request(List<String> batch, UUIDCache cache) {
+        Map<String, UUID> found = new HashMap<String, UUID>();
+        Throwable error = null;
+
+        try {
+            HttpURLConnection connection = UUIDFetcher.createConnection(profileUrl);
+            UUIDFetcher.writeBody(connection, batch);
+            UUIDFetcher.readProfiles(connection, found);
+        } catch (Throwable t) {
+            error = t;
+        }
+
+        complete(batch, found, error, cache);
+    }
+
+    private void complete(List<String> batch, Map<String, UUID> found, Throwable error, UUIDCache cache) {
+        for (String name : batch) {
+            String key = name.toLowerCase(Locale.ROOT);
+            CompletableFuture<UUID> future = pending.remove(key);
+
+            if (future == null)
+                continue;
+
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                UUID uuid = found.get(key);
+
+                if (cache != null)
+                    cache.put(name, uuid);
+
+                future.complete(uuid);
+            }
+        }
+    }
+
+    /**
+     * Hands out request slots at a fixed rate. A reservation always succeeds;
+     * it returns how long the caller must wait before using its slot.
+     */
+    private static class TokenBucket {
+        private final double tokensPerNano;
+        private final double capacity;
+        private double tokens;
+        private long last;
+
+        private TokenBucket(double perSecond, double capacity) {
+            this.tokensPerNano = perSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = capacity;
+            this.tokens = capacity;
+            this.last = System.nanoTime();
+        }
+
+        private synchronized long reserve() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - last) * tokensPerNano);
+            last = now;
+            tokens -= 1;
+            return (tokens >= 0) ? 0L : (long) Math.ceil(-tokens / tokensPerNano);
+        }
+    }
+
+    private static class FetcherThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "AsyncUUIDFetcher-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
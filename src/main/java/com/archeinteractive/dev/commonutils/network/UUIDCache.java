@@ -0,0 +1,290 @@
+package com.archeinteractive.dev.commonutils.network;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A name to UUID cache that sits in front of {@link UUIDFetcher} and
+ * {@link AsyncUUIDFetcher}. Entries expire after a fixed time, the least
+ * recently used entries are dropped once the cache is full, and names the
+ * profile endpoint did not know are remembered as well, for a shorter time.
+ * The cache can be written to and read back from a compact binary file so
+ * that a restart does not have to look every name up again.
+ */
+public class UUIDCache {
+    private static final int SNAPSHOT_MAGIC = 0x55554944;
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private final int maxEntries;
+    private final long ttl;
+    private final long negativeTtl;
+    private final LinkedHashMap<String, CacheEntry> entries;
+
+    /**
+     * @param maxEntries  The maximum number of names to keep.
+     * @param ttl         How long a resolved name is kept, in milliseconds.
+     * @param negativeTtl How long an unknown name is kept, in milliseconds.
+     */
+    public UUIDCache(final int maxEntries, long ttl, long negativeTtl) {
+        if (maxEntries < 1)
+            throw new IllegalArgumentException("The cache must hold at least one entry!");
+
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.negativeTtl = negativeTtl;
+        this.entries = new LinkedHashMap<String, CacheEntry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                return size() > UUIDCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Test whether the given name has a live entry, known or unknown.
+     *
+     * @param name The name to test.
+     * @return <b>true</b> if the name is cached, <b>false</b> otherwise.
+     */
+    public boolean contains(String name) {
+        return getEntry(name) != null;
+    }
+
+    /**
+     * Get the cached UUID of the given name.
+     *
+     * @param name The name to look up.
+     * @return The UUID, or <b>null</b> if the name is not cached or is
+     * cached as unknown.
+     */
+    public UUID get(String name) {
+        CacheEntry entry = getEntry(name);
+        return (entry == null) ? null : entry.uuid;
+    }
+
+    /**
+     * Record the UUID of a name.
+     *
+     * @param name The name to record.
+     * @param uuid The UUID of the name, or <b>null</b> if the name is unknown.
+     */
+    public void put(String name, UUID uuid) {
+        long expires = System.currentTimeMillis() + ((uuid == null) ? negativeTtl : ttl);
+
+        synchronized (entries) {
+            entries.put(key(name), new CacheEntry(uuid, expires));
+        }
+    }
+
+    /**
+     * Drop the entry for the given name.
+     *
+     * @param name The name to drop.
+     */
+    public void invalidate(String name) {
+        synchronized (entries) {
+            entries.remove(key(name));
+        }
+    }
+
+    /**
+     * Drop every entry.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Get the number of entries currently held, including expired entries
+     * that have not yet been pruned.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Look up the UUIDs of the given names, blocking while any names that
+     * are not cached are fetched through a {@link UUIDFetcher}.
+     *
+     * @param names The names to look up.
+     * @return A map from each requested name that exists to its UUID.
+     * @throws Exception If the profile request failed.
+     */
+    public Map<String, UUID> getUUIDs(List<String> names) throws Exception {
+        return new UUIDFetcher(names, true, this).call();
+    }
+
+    /**
+     * Look up the UUIDs of the given names, fetching any names that are not
+     * cached through the given {@link AsyncUUIDFetcher}.
+     *
+     * @param names   The names to look up.
+     * @param fetcher The fetcher to use for names that are not cached.
+     * @return A future for a map from each requested name that exists to its UUID.
+     */
+    public CompletableFuture<Map<String, UUID>> fetch(Collection<String> names, AsyncUUIDFetcher fetcher) {
+        return fetcher.fetch(names, this);
+    }
+
+    /**
+     * Write every live entry to the given file. The entries are written to a
+     * temporary file first, which then replaces the given file, so the old
+     * file is kept whole if writing fails part way.
+     *
+     * @param file The file to write to.
+     * @throws IOException If the file could not be written.
+     */
+    public void save(File file) throws IOException {
+        File dir = file.getParentFile();
+
+        if (dir != null)
+            dir.mkdirs();
+
+        Map<String, CacheEntry> snapshot = new LinkedHashMap<String, CacheEntry>();
+        long now = System.currentTimeMillis();
+
+        synchronized (entries) {
+            for (Map.Entry<String, CacheEntry> element : entries.entrySet()) {
+                if (element.getValue().expires > now)
+                    snapshot.put(element.getKey(), element.getValue());
+            }
+        }
+
+        File temp = new File(file.getPath() + ".tmp");
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+
+        try {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(snapshot.size());
+
+            for (Map.Entry<String, CacheEntry> element : snapshot.entrySet()) {
+                CacheEntry entry = element.getValue();
+                out.writeUTF(element.getKey());
+                out.writeLong(entry.expires);
+                out.writeBoolean(entry.uuid != null);
+
+                if (entry.uuid != null)
+                    out.write(UUIDFetcher.toBytes(entry.uuid));
+            }
+        } finally {
+            out.close();
+        }
+
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Read entries from a file written by {@link #save(File)}. Entries that
+     * have expired since are skipped. Nothing happens if the file does not exist.
+     *
+     * @param file The file to read from.
+     * @throws IOException If the file could not be read.
+     */
+    public void load(File file) throws IOException {
+        if (!file.exists())
+            return;
+
+        long now = System.currentTimeMillis();
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+
+        try {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION)
+                throw new IOException("Unrecognised UUID cache file: " + file);
+
+            int count = in.readInt();
+            byte[] bytes = new byte[16];
+
+            for (int i = 0; i < count; i++) {
+                String name = in.readUTF();
+                long expires = in.readLong();
+                UUID uuid = null;
+
+                if (in.readBoolean()) {
+                    in.readFully(bytes);
+                    uuid = UUIDFetcher.fromBytes(bytes);
+                }
+
+                if (expires > now) {
+                    synchronized (entries) {
+                        entries.put(name, new CacheEntry(uuid, expires));
+                    }
+                }
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    private CacheEntry getEntry(String name) {
+        String key = key(name);
+
+        synchronized (entries) {
+            CacheEntry entry = entries.get(key);
+
+            if (entry != null && entry.expires <= System.currentTimeMillis()) {
+                entries.remove(key);
+                return null;
+            }
+
+            return entry;
+        }
+    }
+
+    /**
+     * Put the cached UUIDs of the given names in the given map, returning the
+     * names that are not cached.
+     */
+    List<String> collect(Collection<String> names, Map<String, UUID> uuidMap) {
+        List<String> missing = new ArrayList<String>();
+
+        for (String name : names) {
+            CacheEntry entry = getEntry(name);
+
+            if (entry == null) {
+                missing.add(name);
+            } else if (entry.uuid != null) {
+                uuidMap.put(name, entry.uuid);
+            }
+        }
+
+        return missing;
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class CacheEntry {
+        private final UUID uuid;
+        private final long expires;
+
+        private CacheEntry(UUID uuid, long expires) {
+            this.uuid = uuid;
+            this.expires = expires;
+        }
+    }
+}
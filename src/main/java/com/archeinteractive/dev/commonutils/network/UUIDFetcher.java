@@ -1,28 +1,43 @@
 package com.archeinteractive.dev.commonutils.network;
 
+import com.archeinteractive.dev.commonutils.CommonUtils;
 import com.google.common.collect.ImmutableList;
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.Callable;
 
 public class UUIDFetcher implements Callable<Map<String, UUID>> {
-    private static final double PROFILES_PER_REQUEST = 100;
-    private static final String PROFILE_URL = "https://api.mojang.com/profiles/minecraft";
-    private final JSONParser jsonParser = new JSONParser();
+    static final double PROFILES_PER_REQUEST = 100;
+    static final String PROFILE_URL = "https://api.mojang.com/profiles/minecraft";
     private final List<String> names;
     private final boolean rateLimiting;
+    private final UUIDCache cache;
 
-    public UUIDFetcher(List<String> names, boolean rateLimiting) {
+    /**
+     * @param names        The names to look up.
+     * @param rateLimiting Whether to pause between requests.
+     * @param cache        The cache to consult before requesting names, and
+     *                     to record the results in, or <b>null</b> to always
+     *                     request every name.
+     */
+    public UUIDFetcher(List<String> names, boolean rateLimiting, UUIDCache cache) {
         this.names = ImmutableList.copyOf(names);
         this.rateLimiting = rateLimiting;
+        this.cache = cache;
+    }
+
+    public UUIDFetcher(List<String> names, boolean rateLimiting) {
+        this(names, rateLimiting, CommonUtils.getUUIDCache());
     }
 
     public UUIDFetcher(List<String> names) {
@@ -31,35 +46,82 @@ public class UUIDFetcher implements Callable<Map<String, UUID>> {
 
     public Map<String, UUID> call() throws Exception {
         Map<String, UUID> uuidMap = new HashMap<String, UUID>();
-        int requests = (int) Math.ceil(names.size() / PROFILES_PER_REQUEST);
+        List<String> missing = (cache != null) ? cache.collect(names, uuidMap) : names;
+
+        if (missing.isEmpty()) {
+            return uuidMap;
+        }
+
+        Map<String, UUID> found = new HashMap<String, UUID>();
+        int requests = (int) Math.ceil(missing.size() / PROFILES_PER_REQUEST);
         for (int i = 0; i < requests; i++) {
-            HttpURLConnection connection = createConnection();
-            String body = JSONArray.toJSONString(names.subList(i * 100, Math.min((i + 1) * 100, names.size())));
-            writeBody(connection, body);
-            JSONArray array = (JSONArray) jsonParser.parse(new InputStreamReader(connection.getInputStream()));
-            for (Object profile : array) {
-                JSONObject jsonProfile = (JSONObject) profile;
-                String id = (String) jsonProfile.get("id");
-                String name = (String) jsonProfile.get("name");
-                UUID uuid = UUIDFetcher.getUUID(id);
-                uuidMap.put(name, uuid);
-            }
+            HttpURLConnection connection = createConnection(PROFILE_URL);
+            writeBody(connection, missing.subList(i * 100, Math.min((i + 1) * 100, missing.size())));
+            readProfiles(connection, found);
             if (rateLimiting && i != requests - 1) {
                 Thread.sleep(100L);
             }
         }
+
+        for (String name : missing) {
+            UUID uuid = found.get(name.toLowerCase(Locale.ROOT));
+            if (cache != null) {
+                cache.put(name, uuid);
+            }
+            if (uuid != null) {
+                uuidMap.put(name, uuid);
+            }
+        }
         return uuidMap;
     }
 
-    private static void writeBody(HttpURLConnection connection, String body) throws Exception {
-        OutputStream stream = connection.getOutputStream();
-        stream.write(body.getBytes());
-        stream.flush();
-        stream.close();
+    static void writeBody(HttpURLConnection connection, List<String> names) throws IOException {
+        JsonWriter writer = new JsonWriter(new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8));
+        writer.beginArray();
+        for (String name : names) {
+            writer.value(name);
+        }
+        writer.endArray();
+        writer.close();
+    }
+
+    /**
+     * Read the profiles in a response into the given map, keyed by the
+     * lower-cased profile name so they can be matched to the requested names.
+     */
+    static void readProfiles(HttpURLConnection connection, Map<String, UUID> uuidMap) throws IOException {
+        JsonReader reader = new JsonReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
+        try {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                String id = null;
+                String name = null;
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String key = reader.nextName();
+                    if (reader.peek() != JsonToken.STRING) {
+                        reader.skipValue();
+                    } else if (key.equals("id")) {
+                        id = reader.nextString();
+                    } else if (key.equals("name")) {
+                        name = reader.nextString();
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+                if (id != null && name != null) {
+                    uuidMap.put(name.toLowerCase(Locale.ROOT), getUUID(id));
+                }
+            }
+            reader.endArray();
+        } finally {
+            reader.close();
+        }
     }
 
-    private static HttpURLConnection createConnection() throws Exception {
-        URL url = new URL(PROFILE_URL);
+    static HttpURLConnection createConnection(String profileUrl) throws Exception {
+        URL url = new URL(profileUrl);
         HttpURLConnection connection = (HttpURLConnection) url.openConnection();
         connection.setRequestMethod("POST");
         connection.setRequestProperty("Content-Type", "application/json");
@@ -69,8 +131,23 @@ public class UUIDFetcher implements Callable<Map<String, UUID>> {
         return connection;
     }
 
-    private static UUID getUUID(String id) {
-        return UUID.fromString(id.substring(0, 8) + "-" + id.substring(8, 12) + "-" + id.substring(12, 16) + "-" + id.substring(16, 20) + "-" +id.substring(20, 32));
+    static UUID getUUID(String id) {
+        if (id.length() != 32) {
+            throw new IllegalArgumentException("Illegal profile id: " + id);
+        }
+        return new UUID(parseHex(id, 0), parseHex(id, 16));
+    }
+
+    private static long parseHex(String id, int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + 16; i++) {
+            int digit = Character.digit(id.charAt(i), 16);
+            if (digit < 0) {
+                throw new IllegalArgumentException("Illegal profile id: " + id);
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
     }
 
     public static byte[] toBytes(UUID uuid) {
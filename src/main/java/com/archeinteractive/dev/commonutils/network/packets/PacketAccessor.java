@@ -0,0 +1,119 @@
+package com.archeinteractive.dev.commonutils.network.packets;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+
+import com.archeinteractive.dev.commonutils.reflection.FieldAccessor;
+import com.archeinteractive.dev.commonutils.reflection.ReflectionRegistry;
+import com.archeinteractive.dev.commonutils.reflection.VersionHandler;
+
+/**
+ * Builds instances of a single NMS Packet class by writing its fields
+ * directly. The no-argument constructor and every named field are bound
+ * to MethodHandles once, when the accessor is created, so building a
+ * Packet afterwards costs one allocation and one write per field.
+ */
+public class PacketAccessor {
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+    private final Class<?> packet_class;
+    private final MethodHandle constructor;
+    private final FieldAccessor[] fields;
+
+    /**
+     * Bind the given fields of the given NMS Packet class.
+     *
+     * @param packet_name The name of the Packet class, as passed to
+     *                    {@link VersionHandler#getNMSClass(String)}.
+     * @param field_names The names of the fields to bind, in the order
+     *                    that values are passed to {@link #create(Object...)}.
+     */
+    public PacketAccessor(String packet_name, String... field_names) {
+        this.packet_class = VersionHandler.getNMSClass(packet_name);
+        this.fields = new FieldAccessor[field_names.length];
+
+        MethodHandle handle = null;
+
+        if (packet_class != null) {
+            try {
+                Constructor<?> c = packet_class.getDeclaredConstructor();
+                c.setAccessible(true);
+                handle = MethodHandles.lookup().unreflectConstructor(c).asType(CONSTRUCTOR_TYPE);
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                e.printStackTrace();
+            }
+
+            for (int i = 0; i < field_names.length; i++) {
+                fields[i] = ReflectionRegistry.getField(packet_class, field_names[i]);
+            }
+        }
+
+        this.constructor = handle;
+    }
+
+    /**
+     * Get the Class of the Packet built by this accessor.
+     *
+     * @return The Class of the Packet, or <b>null</b> if it was not found.
+     */
+    public Class<?> getPacketClass() {
+        return packet_class;
+    }
+
+    /**
+     * Create an empty instance of the Packet.
+     *
+     * @return The Packet that was created, or <b>null</b> if it could not be.
+     */
+    public Object newInstance() {
+        if (constructor == null)
+            return null;
+
+        try {
+            return (Object) constructor.invokeExact();
+        } catch (Throwable t) {
+            t.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Write a value to one of the bound fields of a Packet.
+     *
+     * @param packet The Packet to write to.
+     * @param index  The index of the field, in the order it was bound.
+     * @param value  The value to write.
+     */
+    public void set(Object packet, int index, Object value) {
+        try {
+            fields[index].set(packet, value);
+        } catch (IllegalAccessException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Create an instance of the Packet, writing the given values to the
+     * bound fields in the order they were bound.
+     *
+     * @param values The values of the bound fields.
+     * @return The Packet that was created, or <b>null</b> if it could not be.
+     */
+    public Object create(Object... values) {
+        if (values.length != fields.length)
+            throw new IllegalArgumentException("Expected " + fields.length + " values, got " + values.length + "!");
+
+        Object packet = newInstance();
+
+        if (packet != null) {
+            for (int i = 0; i < values.length; i++) {
+                set(packet, i, values[i]);
+            }
+        }
+
+        return packet;
+    }
+}
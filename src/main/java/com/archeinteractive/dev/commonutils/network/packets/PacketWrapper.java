@@ -1,5 +1,7 @@
 package com.archeinteractive.dev.commonutils.network.packets;
 
+import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 
 import com.archeinteractive.dev.commonutils.reflection.EntityHandler;
@@ -31,6 +33,35 @@ public abstract class PacketWrapper {
         EntityHandler.sendPacket(players, get());
     }
     
+    /**
+     * Send a single instance of the Packet represented by this class to
+     * every online player.
+     */
+    public void sendToAll() {
+        EntityHandler.sendPacketToAll(get());
+    }
+    
+    /**
+     * Send a single instance of the Packet represented by this class to
+     * every player in the given world.
+     * 
+     * @param world The World whose players should receive this Packet.
+     */
+    public void sendToWorld(World world) {
+        EntityHandler.sendPacketToWorld(world, get());
+    }
+    
+    /**
+     * Send a single instance of the Packet represented by this class to
+     * every player within the given radius of a location.
+     * 
+     * @param center The Location to measure distance from.
+     * @param radius The maximum distance a player may be from the center.
+     */
+    public void sendNear(Location center, double radius) {
+        EntityHandler.sendPacketNear(center, radius, get());
+    }
+    
     /**
      * Get an instance of the Packet represented by this class, with the values
      * known to the implementation of this PacketWrapper.
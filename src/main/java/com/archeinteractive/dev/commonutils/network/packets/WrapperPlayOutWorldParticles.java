@@ -1,15 +1,20 @@
 package com.archeinteractive.dev.commonutils.network.packets;
 
-import java.lang.reflect.Constructor;
+import java.lang.invoke.MethodHandle;
 
 import org.bukkit.Location;
+import org.bukkit.entity.Player;
 
-import com.archeinteractive.dev.commonutils.reflection.CommonReflection;
+import com.archeinteractive.dev.commonutils.reflection.ReflectionRegistry;
 import com.archeinteractive.dev.commonutils.reflection.VersionHandler;
 
 public class WrapperPlayOutWorldParticles extends PacketWrapper {
     
     private static final Class<?> classPacketPlayOutWorldParticles = VersionHandler.getNMSClass("PacketPlayOutWorldParticles");
+    private static final MethodHandle constructorPacketPlayOutWorldParticles = (classPacketPlayOutWorldParticles == null)
+            ? null : ReflectionRegistry.getConstructor(classPacketPlayOutWorldParticles,
+                    String.class, float.class, float.class, float.class,
+                    float.class, float.class, float.class, float.class, int.class);
     
     private final String effect;
     private float x, y, z, dx, dy, dz, speed;
@@ -35,6 +40,13 @@ public class WrapperPlayOutWorldParticles extends PacketWrapper {
         return this;
     }
     
+    public WrapperPlayOutWorldParticles setLocation(double x, double y, double z) {
+        this.x = (float) x;
+        this.y = (float) y;
+        this.z = (float) z;
+        return this;
+    }
+    
     public WrapperPlayOutWorldParticles setDeviations(float x, float y, float z) {
         this.dx = x;
         this.dy = y;
@@ -52,12 +64,27 @@ public class WrapperPlayOutWorldParticles extends PacketWrapper {
         return this;
     }
     
+    /**
+     * Move this wrapper to the given location and send a fresh Packet to
+     * the given player(s). Every other value is kept, so a single wrapper
+     * can be reused to draw a whole trail of particles.
+     * 
+     * @param location The location the particles should display at.
+     * @param players  The Player(s) to send the Packet to.
+     */
+    public void sendAt(Location location, Player... players) {
+        setLocation(location).send(players);
+    }
+    
     public Object get() {
-        Constructor<?> constructorPacketPlayOutWorldParticles = CommonReflection.getConstructor(
-                classPacketPlayOutWorldParticles, new Class<?>[] {
-                        String.class, float.class, float.class, float.class,
-                        float.class, float.class, float.class, float.class, int.class });
-        return CommonReflection.constructNewInstance(constructorPacketPlayOutWorldParticles,
-                new Object[] { effect, x, y, z, dx, dy, dz, speed, amount });
-    }
-}
\ No newline at end of file
+        if (constructorPacketPlayOutWorldParticles == null)
+            return null;
+        
+        try {
+            return (Object) constructorPacketPlayOutWorldParticles.invokeExact(
+                    effect, x, y, z, dx, dy, dz, speed, amount);
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+}
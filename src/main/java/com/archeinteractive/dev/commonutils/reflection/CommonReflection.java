@@ -13,14 +13,10 @@ public class CommonReflection {
 
     public static Object getHandle(Entity entity) {
         Object nmsEntity = null;
-        Method getHandle = CommonReflection.getMethod(entity.getClass(), "getHandle");
+        MethodInvoker getHandle = ReflectionRegistry.getMethod(entity.getClass(), "getHandle");
 
         try {
             nmsEntity = getHandle.invoke(entity);
-        } catch (IllegalArgumentException e) {
-            e.printStackTrace();
-        } catch (IllegalAccessException e) {
-            e.printStackTrace();
         } catch (InvocationTargetException e) {
             e.printStackTrace();
         }
@@ -31,13 +27,9 @@ public class CommonReflection {
     public static Object getHandle(World world) {
         Object nmsEntity = null;
 
-        Method getHandle = getMethod(world.getClass(), "getHandle");
+        MethodInvoker getHandle = ReflectionRegistry.getMethod(world.getClass(), "getHandle");
         try {
             nmsEntity = getHandle.invoke(world);
-        } catch (IllegalArgumentException e) {
-            e.printStackTrace();
-        } catch (IllegalAccessException e) {
-            e.printStackTrace();
         } catch (InvocationTargetException e) {
             e.printStackTrace();
         }
@@ -47,7 +39,7 @@ public class CommonReflection {
     
     public static Object getHandle(Objective objective) {
         Class<?> classCraftObjective = VersionHandler.getOBCClass("scoreboard.CraftObjective");
-        Method getHandle = CommonReflection.getMethod(classCraftObjective, "getHandle", 0);
+        MethodInvoker getHandle = ReflectionRegistry.getMethod(classCraftObjective, "getHandle", 0);
         
         try {
             return getHandle.invoke(objective);
@@ -72,8 +64,7 @@ public class CommonReflection {
 
     public static void setField(Class<?> clazz, Object object, String fieldName, Object value) {
         try {
-            Field field = CommonReflection.getField(clazz, fieldName);
-            field.setAccessible(true);
+            FieldAccessor field = ReflectionRegistry.getField(clazz, fieldName);
             field.set(object, value);
         } catch (IllegalAccessException e) {
             e.printStackTrace();
@@ -100,33 +91,18 @@ public class CommonReflection {
     }
 
     public static Method getMethod(Class<?> clazz, String method, Class<?>[] args) {
-        for (Method m : clazz.getMethods()) {
-            if (m.getName().equals(method) && classListEqual(args, m.getParameterTypes())) {
-                return m;
-            }
-        }
-
-        return null;
+        MethodInvoker invoker = ReflectionRegistry.getMethod(clazz, method, args);
+        return (invoker == null) ? null : invoker.getMethod();
     }
 
     public static Method getMethod(Class<?> clazz, String method, Integer args) {
-        for (Method m : clazz.getMethods()) {
-            if (m.getName().equals(method) && args.equals(Integer.valueOf(m.getParameterTypes().length))) {
-                return m;
-            }
-        }
-
-        return null;
+        MethodInvoker invoker = ReflectionRegistry.getMethod(clazz, method, args.intValue());
+        return (invoker == null) ? null : invoker.getMethod();
     }
 
     public static Method getMethod(Class<?> clazz, String method) {
-        for (Method m : clazz.getMethods()) {
-            if (m.getName().equals(method)) {
-                return m;
-            }
-        }
-
-        return null;
+        MethodInvoker invoker = ReflectionRegistry.getMethod(clazz, method);
+        return (invoker == null) ? null : invoker.getMethod();
     }
     
     public static Object invokeMethodAndReturn(Method method, Object instance) {
@@ -159,12 +135,9 @@ public class CommonReflection {
         Object value = null;
 
         try {
-            Method methodToInvoke = getMethod(clazz, method);
-            methodToInvoke.setAccessible(true);
+            MethodInvoker methodToInvoke = ReflectionRegistry.getMethod(clazz, method);
 
             value = methodToInvoke.invoke(object);
-        } catch (IllegalAccessException e) {
-            e.printStackTrace();
         } catch (InvocationTargetException e) {
             e.printStackTrace();
         }
@@ -181,12 +154,9 @@ public class CommonReflection {
         }
 
         try {
-            Method methodToInvoke = getMethod(clazz, method, args);
-            methodToInvoke.setAccessible(true);
+            MethodInvoker methodToInvoke = ReflectionRegistry.getMethod(clazz, method, args);
 
             value = methodToInvoke.invoke(object, params);
-        } catch (IllegalAccessException e) {
-            e.printStackTrace();
         } catch (InvocationTargetException e) {
             e.printStackTrace();
         }
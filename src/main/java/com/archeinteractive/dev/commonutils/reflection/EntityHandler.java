@@ -2,11 +2,12 @@ package com.archeinteractive.dev.commonutils.reflection;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.Map;
+import java.util.function.Predicate;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
@@ -65,33 +66,71 @@ public class EntityHandler {
     }
     
     public static void sendPacketToAll(Object packet) {
-        for (Player player : Bukkit.getOnlinePlayers()) {
+        sendPacket(Bukkit.getOnlinePlayers(), packet);
+    }
+
+    /**
+     * Send a Packet to every player in the given world.
+     *
+     * @param world  The World whose players should receive the Packet.
+     * @param packet The Packet to send.
+     */
+    public static void sendPacketToWorld(World world, Object packet) {
+        sendPacket(world.getPlayers(), packet);
+    }
+
+    /**
+     * Send a Packet to every player in the world of the given location
+     * that is within the given radius of it.
+     *
+     * @param center The Location to measure distance from.
+     * @param radius The maximum distance a player may be from the center.
+     * @param packet The Packet to send.
+     */
+    public static void sendPacketNear(Location center, double radius, Object packet) {
+        double radiusSquared = radius * radius;
+
+        for (Player player : center.getWorld().getPlayers()) {
+            if (player.getLocation().distanceSquared(center) <= radiusSquared) {
+                sendPacket(player, packet);
+            }
+        }
+    }
+
+    /**
+     * Send a Packet to every given player that matches the given filter.
+     *
+     * @param players The Players that may receive the Packet.
+     * @param packet  The Packet to send.
+     * @param filter  The test a player must pass to receive the Packet.
+     */
+    public static void sendPacket(Iterable<? extends Player> players, Object packet, Predicate<? super Player> filter) {
+        for (Player player : players) {
+            if (filter.test(player)) {
+                sendPacket(player, packet);
+            }
+        }
+    }
+
+    public static void sendPacket(Iterable<? extends Player> players, Object packet) {
+        for (Player player : players) {
             sendPacket(player, packet);
         }
     }
 
     public static void sendPacket(Player[] players, Object packet) {
-        for (Player player : players)
-            sendPacket(player, packet);
+        for (Player player : players) {
+            if (player != null) {
+                sendPacket(player, packet);
+            }
+        }
     }
 
     public static void sendPacket(Player player, Object packet) {
-        try {
-            Object nmsPlayer = CommonReflection.getHandle(player);
-            Field playerConnection = nmsPlayer.getClass().getField("playerConnection");
-            Object connection = playerConnection.get(nmsPlayer);
-            Method sendPacket = CommonReflection.getMethod(connection.getClass(), "sendPacket");
-            sendPacket.invoke(connection, packet);
-        } catch (SecurityException e) {
-            e.printStackTrace();
-        } catch (IllegalArgumentException e) {
-            e.printStackTrace();
-        } catch (IllegalAccessException e) {
-            e.printStackTrace();
-        } catch (InvocationTargetException e) {
-            e.printStackTrace();
-        } catch (NoSuchFieldException e) {
-            e.printStackTrace();
+        PlayerConnectionCache.Connection connection = PlayerConnectionCache.get(player);
+
+        if (connection != null) {
+            connection.sendPacket(packet);
         }
     }
 
@@ -0,0 +1,93 @@
+package com.archeinteractive.dev.commonutils.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * A resolved Field bound to getter and setter MethodHandles, so that
+ * reads and writes skip the access checks done by {@link Field#get(Object)}
+ * and {@link Field#set(Object, Object)}. Instances are obtained through
+ * {@link ReflectionRegistry}.
+ */
+public final class FieldAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Field field;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+
+    FieldAccessor(Field field, MethodHandles.Lookup lookup) throws IllegalAccessException {
+        field.setAccessible(true);
+
+        boolean isStatic = Modifier.isStatic(field.getModifiers());
+        MethodHandle get = lookup.unreflectGetter(field);
+        MethodHandle set;
+
+        try {
+            set = lookup.unreflectSetter(field);
+        } catch (IllegalAccessException e) {
+            // static final fields cannot be written to
+            set = null;
+        }
+
+        if (isStatic) {
+            get = MethodHandles.dropArguments(get, 0, Object.class);
+            set = (set == null) ? null : MethodHandles.dropArguments(set, 0, Object.class);
+        }
+
+        this.field = field;
+        this.getter = get.asType(GETTER_TYPE);
+        this.setter = (set == null) ? null : set.asType(SETTER_TYPE);
+    }
+
+    /**
+     * Get the Field this accessor was resolved from.
+     *
+     * @return The underlying Field.
+     */
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * Read the value of this field from the given instance.
+     *
+     * @param instance The instance to read from, ignored for static fields.
+     * @return The current value of the field.
+     * @throws IllegalArgumentException If the instance is not of the declaring type.
+     */
+    public Object get(Object instance) {
+        try {
+            return (Object) getter.invokeExact(instance);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalArgumentException(t);
+        }
+    }
+
+    /**
+     * Write a value to this field on the given instance.
+     *
+     * @param instance The instance to write to, ignored for static fields.
+     * @param value    The value to write.
+     * @throws IllegalAccessException If the field is static and final.
+     */
+    public void set(Object instance, Object value) throws IllegalAccessException {
+        if (setter == null)
+            throw new IllegalAccessException("Field " + field.getName() + " is not writable!");
+
+        try {
+            setter.invokeExact(instance, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalArgumentException(t);
+        }
+    }
+}
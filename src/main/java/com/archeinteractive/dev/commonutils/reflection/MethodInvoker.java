@@ -0,0 +1,159 @@
+package com.archeinteractive.dev.commonutils.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A resolved Method bound to a MethodHandle of the erased shape
+ * <code>(Object, Object[])Object</code>, so that it can be invoked
+ * without any further lookups. Instances are obtained through
+ * {@link ReflectionRegistry}.
+ */
+public final class MethodInvoker {
+
+    private static final MethodType SPREAD_TYPE =
+            MethodType.methodType(Object.class, Object.class, Object[].class);
+    private static final Map<Class<?>, Class<?>> PRIMITIVES = new HashMap<>();
+
+    static {
+        PRIMITIVES.put(Boolean.class, boolean.class);
+        PRIMITIVES.put(Byte.class, byte.class);
+        PRIMITIVES.put(Short.class, short.class);
+        PRIMITIVES.put(Character.class, char.class);
+        PRIMITIVES.put(Integer.class, int.class);
+        PRIMITIVES.put(Long.class, long.class);
+        PRIMITIVES.put(Float.class, float.class);
+        PRIMITIVES.put(Double.class, double.class);
+    }
+
+    private final Method method;
+    private final Class<?>[] parameters;
+    private final MethodHandle direct;
+    private final MethodHandle handle;
+
+    MethodInvoker(Method method, MethodHandles.Lookup lookup) throws IllegalAccessException {
+        method.setAccessible(true);
+
+        int params = method.getParameterTypes().length;
+        MethodHandle direct = lookup.unreflect(method);
+
+        if (Modifier.isStatic(method.getModifiers())) {
+            direct = MethodHandles.dropArguments(direct, 0, Object.class);
+        }
+
+        this.method = method;
+        this.parameters = method.getParameterTypes();
+        this.direct = direct.asType(direct.type().generic());
+        this.handle = this.direct
+                .asSpreader(Object[].class, params)
+                .asType(SPREAD_TYPE);
+    }
+
+    /**
+     * Get the Method this invoker was resolved from.
+     *
+     * @return The underlying Method.
+     */
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * Get a MethodHandle for the underlying method with the given instance
+     * bound as its receiver. The returned handle takes the method's
+     * parameters as Objects and returns an Object.
+     *
+     * @param instance The instance to bind, ignored for static methods.
+     * @return The bound MethodHandle.
+     */
+    public MethodHandle bindTo(Object instance) {
+        return direct.bindTo(instance);
+    }
+
+    /**
+     * Invoke the underlying method on the given instance. The instance and
+     * parameters are checked the same way <code>Method.invoke</code> checks
+     * them, so only exceptions thrown by the method itself are wrapped.
+     *
+     * @param instance The instance to invoke on, ignored for static methods.
+     * @param params   The parameters to pass.
+     * @return The value returned, or <b>null</b> for void methods.
+     * @throws NullPointerException If the method is not static and the
+     *         instance is null.
+     * @throws IllegalArgumentException If the instance or parameters do not
+     *         fit the method.
+     * @throws InvocationTargetException If the method threw anything.
+     */
+    public Object invoke(Object instance, Object... params) throws InvocationTargetException {
+        if (params == null) {
+            params = new Object[0];
+        }
+
+        checkArguments(instance, params);
+
+        try {
+            return (Object) handle.invokeExact(instance, params);
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    private void checkArguments(Object instance, Object[] params) {
+        if (!Modifier.isStatic(method.getModifiers())) {
+            if (instance == null) {
+                throw new NullPointerException("Cannot invoke " + method.getName() + " without an instance");
+            }
+
+            if (!method.getDeclaringClass().isInstance(instance)) {
+                throw new IllegalArgumentException("object is not an instance of declaring class");
+            }
+        }
+
+        if (params.length != parameters.length) {
+            throw new IllegalArgumentException("wrong number of arguments");
+        }
+
+        for (int i = 0; i < parameters.length; i++) {
+            if (!isAssignable(parameters[i], params[i])) {
+                throw new IllegalArgumentException("argument type mismatch");
+            }
+        }
+    }
+
+    private static boolean isAssignable(Class<?> type, Object value) {
+        if (!type.isPrimitive()) {
+            return value == null || type.isInstance(value);
+        }
+
+        Class<?> primitive = (value != null) ? PRIMITIVES.get(value.getClass()) : null;
+
+        if (primitive == null) {
+            return false;
+        }
+
+        return primitive == type || isWidening(primitive, type);
+    }
+
+    // Widening primitive conversions, as applied by Method.invoke
+    private static boolean isWidening(Class<?> from, Class<?> to) {
+        if (from == byte.class) {
+            return to == short.class || to == int.class || to == long.class || to == float.class || to == double.class;
+        } else if (from == short.class || from == char.class) {
+            return to == int.class || to == long.class || to == float.class || to == double.class;
+        } else if (from == int.class) {
+            return to == long.class || to == float.class || to == double.class;
+        } else if (from == long.class) {
+            return to == float.class || to == double.class;
+        } else if (from == float.class) {
+            return to == double.class;
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,147 @@
+package com.archeinteractive.dev.commonutils.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+
+/**
+ * A cache of each online player's NMS PlayerConnection, along with a
+ * MethodHandle for its <code>sendPacket</code> method already bound to
+ * that connection. Entries are keyed by UUID and dropped when the player
+ * quits; an entry created for an older Player object (such as one from a
+ * previous login) is never reused. Connections of players who are no longer
+ * online are resolved but not cached, so nothing is left behind once the
+ * player has quit.
+ */
+public class PlayerConnectionCache implements Listener {
+
+    private static final MethodType SEND_TYPE = MethodType.methodType(void.class, Object.class);
+
+    private static final ConcurrentMap<UUID, Connection> connections = new ConcurrentHashMap<>();
+    private static boolean listener = false;
+
+    public PlayerConnectionCache(JavaPlugin plugin) {
+        synchronized (PlayerConnectionCache.class) {
+            if (listener)
+                return;
+
+            PlayerConnectionCache.listener = true;
+        }
+
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+    }
+
+    /**
+     * Get the cached connection for the given player, resolving it if
+     * this is the first request for the player.
+     *
+     * @param player The Player whose connection should be returned.
+     * @return The Connection for the player, or <b>null</b> if it could
+     * not be resolved.
+     */
+    public static Connection get(Player player) {
+        UUID id = player.getUniqueId();
+        Connection connection = connections.get(id);
+
+        if (connection == null || connection.player != player) {
+            connection = resolve(player);
+
+            if (connection != null && player.isOnline())
+                connections.put(id, connection);
+        }
+
+        return connection;
+    }
+
+    /**
+     * Drop the cached connection for the given player.
+     *
+     * @param player The Player whose connection should be dropped.
+     */
+    public static void invalidate(Player player) {
+        connections.remove(player.getUniqueId());
+    }
+
+    /**
+     * Drop the cached connection for the player with the given UUID.
+     *
+     * @param id The UUID of the player whose connection should be dropped.
+     */
+    public static void invalidate(UUID id) {
+        connections.remove(id);
+    }
+
+    /**
+     * Drop every cached connection.
+     */
+    public static void clear() {
+        connections.clear();
+    }
+
+    private static Connection resolve(Player player) {
+        Object nmsPlayer = CommonReflection.getHandle(player);
+
+        if (nmsPlayer == null)
+            return null;
+
+        FieldAccessor playerConnection = ReflectionRegistry.getField(nmsPlayer.getClass(), "playerConnection");
+        Object connection = playerConnection.get(nmsPlayer);
+
+        if (connection == null)
+            return null;
+
+        MethodInvoker sendPacket = ReflectionRegistry.getMethod(connection.getClass(), "sendPacket", 1);
+        return new Connection(player, connection, sendPacket.bindTo(connection).asType(SEND_TYPE));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        invalidate(event.getPlayer());
+    }
+
+    /**
+     * A resolved NMS PlayerConnection and its bound send handle.
+     */
+    public static final class Connection {
+        private final Player player;
+        private final Object connection;
+        private final MethodHandle sendPacket;
+
+        private Connection(Player player, Object connection, MethodHandle sendPacket) {
+            this.player = player;
+            this.connection = connection;
+            this.sendPacket = sendPacket;
+        }
+
+        /**
+         * Get the NMS PlayerConnection object.
+         *
+         * @return The PlayerConnection.
+         */
+        public Object getHandle() {
+            return connection;
+        }
+
+        /**
+         * Send the given NMS Packet over this connection.
+         *
+         * @param packet The Packet to send.
+         */
+        public void sendPacket(Object packet) {
+            try {
+                sendPacket.invokeExact(packet);
+            } catch (Throwable t) {
+                t.printStackTrace();
+            }
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.archeinteractive.dev.commonutils.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A registry of resolved methods and fields. Each (class, name, signature)
+ * is looked up once, bound to a MethodHandle and cached, so repeated calls
+ * from hot paths never scan {@link Class#getMethods()} again.
+ */
+public class ReflectionRegistry {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final ConcurrentMap<MemberKey, MethodInvoker> methods = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<MemberKey, FieldAccessor> fields = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<MemberKey, MethodHandle> constructors = new ConcurrentHashMap<>();
+
+    /**
+     * Get an invoker for the first public method of the given name.
+     *
+     * @param clazz  The Class to search.
+     * @param method The name of the method.
+     * @return The resolved invoker, or <b>null</b> if none was found.
+     */
+    public static MethodInvoker getMethod(Class<?> clazz, String method) {
+        return getMethod(new MemberKey(clazz, method, null));
+    }
+
+    /**
+     * Get an invoker for the first public method of the given name
+     * that takes the given number of parameters.
+     *
+     * @param clazz  The Class to search.
+     * @param method The name of the method.
+     * @param args   The number of parameters the method takes.
+     * @return The resolved invoker, or <b>null</b> if none was found.
+     */
+    public static MethodInvoker getMethod(Class<?> clazz, String method, int args) {
+        return getMethod(new MemberKey(clazz, method, args));
+    }
+
+    /**
+     * Get an invoker for the first public method of the given name
+     * whose parameters accept the given types.
+     *
+     * @param clazz  The Class to search.
+     * @param method The name of the method.
+     * @param args   The parameter types to match.
+     * @return The resolved invoker, or <b>null</b> if none was found.
+     */
+    public static MethodInvoker getMethod(Class<?> clazz, String method, Class<?>[] args) {
+        return getMethod(new MemberKey(clazz, method, Arrays.asList(args.clone())));
+    }
+
+    /**
+     * Get an accessor for the field of the given name, declared by the
+     * given class or one of its superclasses.
+     *
+     * @param clazz The Class to search.
+     * @param field The name of the field.
+     * @return The resolved accessor, or <b>null</b> if none was found.
+     */
+    public static FieldAccessor getField(Class<?> clazz, String field) {
+        MemberKey key = new MemberKey(clazz, field, null);
+        FieldAccessor accessor = fields.get(key);
+
+        if (accessor == null) {
+            Field found = findField(clazz, field);
+
+            if (found == null)
+                return null;
+
+            try {
+                accessor = new FieldAccessor(found, LOOKUP);
+            } catch (IllegalAccessException e) {
+                e.printStackTrace();
+                return null;
+            }
+
+            FieldAccessor existing = fields.putIfAbsent(key, accessor);
+
+            if (existing != null)
+                accessor = existing;
+        }
+
+        return accessor;
+    }
+
+    /**
+     * Get a MethodHandle for the public constructor of the given class that
+     * takes exactly the given parameter types. The handle's return type is
+     * widened to Object, so callers can use invokeExact with the exact
+     * parameter types and an Object result.
+     *
+     * @param clazz The Class to construct.
+     * @param args  The parameter types of the constructor.
+     * @return The constructor handle, or <b>null</b> if none was found.
+     */
+    public static MethodHandle getConstructor(Class<?> clazz, Class<?>... args) {
+        MemberKey key = new MemberKey(clazz, "<init>", Arrays.asList(args.clone()));
+        MethodHandle handle = constructors.get(key);
+
+        if (handle == null) {
+            try {
+                Constructor<?> constructor = clazz.getConstructor(args);
+                constructor.setAccessible(true);
+                handle = LOOKUP.unreflectConstructor(constructor);
+                handle = handle.asType(handle.type().changeReturnType(Object.class));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                e.printStackTrace();
+                return null;
+            }
+
+            MethodHandle existing = constructors.putIfAbsent(key, handle);
+
+            if (existing != null)
+                handle = existing;
+        }
+
+        return handle;
+    }
+
+    /**
+     * Drop every cached method, field and constructor.
+     * Only needed if classes are reloaded.
+     */
+    public static void clear() {
+        methods.clear();
+        fields.clear();
+        constructors.clear();
+    }
+
+    private static MethodInvoker getMethod(MemberKey key) {
+        MethodInvoker invoker = methods.get(key);
+
+        if (invoker == null) {
+            Method found = findMethod(key);
+
+            if (found == null)
+                return null;
+
+            try {
+                invoker = new MethodInvoker(found, LOOKUP);
+            } catch (IllegalAccessException e) {
+                e.printStackTrace();
+                return null;
+            }
+
+            MethodInvoker existing = methods.putIfAbsent(key, invoker);
+
+            if (existing != null)
+                invoker = existing;
+        }
+
+        return invoker;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Method findMethod(MemberKey key) {
+        for (Method m : key.clazz.getMethods()) {
+            if (!m.getName().equals(key.name))
+                continue;
+
+            if (key.signature == null) {
+                return m;
+            } else if (key.signature instanceof Integer) {
+                if (key.signature.equals(m.getParameterTypes().length))
+                    return m;
+            } else {
+                Class<?>[] args = ((List<Class<?>>) key.signature).toArray(new Class<?>[0]);
+
+                if (CommonReflection.classListEqual(args, m.getParameterTypes()))
+                    return m;
+            }
+        }
+
+        return null;
+    }
+
+    private static Field findField(Class<?> clazz, String name) {
+        for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
+            try {
+                return c.getDeclaredField(name);
+            } catch (NoSuchFieldException e) {
+                continue;
+            }
+        }
+
+        return null;
+    }
+
+    private static final class MemberKey {
+        private final Class<?> clazz;
+        private final String name;
+        private final Object signature;
+        private final int hash;
+
+        private MemberKey(Class<?> clazz, String name, Object signature) {
+            this.clazz = clazz;
+            this.name = name;
+            this.signature = signature;
+            this.hash = 31 * (31 * clazz.hashCode() + name.hashCode())
+                    + (signature == null ? 0 : signature.hashCode());
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+
+            if (!(obj instanceof MemberKey))
+                return false;
+
+            MemberKey other = (MemberKey) obj;
+            return clazz == other.clazz && name.equals(other.name)
+                    && (signature == null ? other.signature == null : signature.equals(other.signature));
+        }
+    }
+}
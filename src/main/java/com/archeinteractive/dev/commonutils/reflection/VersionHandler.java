@@ -1,9 +1,22 @@
 package com.archeinteractive.dev.commonutils.reflection;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.bukkit.Bukkit;
 
 public class VersionHandler {
 
+    /** Stands in for a class name that could not be resolved. */
+    private static final Class<?> MISSING = Missing.class;
+
+    private static final ConcurrentMap<String, Class<?>> nmsClasses = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Class<?>> obcClasses = new ConcurrentHashMap<>();
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static volatile String version = null;
+
     /**
      * Get the version of the currently running Bukkit server. This is the
      * version that is found in the dynamic package of the NMS and OBC code.
@@ -11,8 +24,14 @@ public class VersionHandler {
      * @return A String that represents the version of this server.
      */
     public static String getVersion() {
-        String name = Bukkit.getServer().getClass().getPackage().getName();
-        String version = name.substring(name.lastIndexOf('.') + 1);
+        String version = VersionHandler.version;
+
+        if (version == null) {
+            String name = Bukkit.getServer().getClass().getPackage().getName();
+            version = name.substring(name.lastIndexOf('.') + 1);
+            VersionHandler.version = version;
+        }
+
         return version;
     }
     
@@ -28,16 +47,7 @@ public class VersionHandler {
      * @return The Class that was found, or <b>null</b> if none.
      */
     public static Class<?> getNMSClass(String className) {
-        String clazzName = "net.minecraft.server." + getVersion() + "." + className;
-        Class<?> clazz = null;
-
-        try {
-            clazz = Class.forName(clazzName);
-        } catch (ClassNotFoundException e) {
-            e.printStackTrace();
-        }
-
-        return clazz;
+        return getClass(nmsClasses, "net.minecraft.server.", className);
     }
     
     /** @deprecated in favor of {@link VersionHandler#getOBCClass(String)} */
@@ -52,15 +62,63 @@ public class VersionHandler {
      * @return The Class that was found, or <b>null</b> if none.
      */
     public static Class<?> getOBCClass(String className) {
-        String clazzName = "org.bukkit.craftbukkit." + getVersion() + "." + className;
-        Class<?> clazz = null;
-
+        return getClass(obcClasses, "org.bukkit.craftbukkit.", className);
+    }
+    
+    /**
+     * Get the number of class lookups that were answered from the cache,
+     * including lookups for classes already known to be missing.
+     * 
+     * @return The number of cache hits.
+     */
+    public static long getCacheHits() {
+        return hits.get();
+    }
+    
+    /**
+     * Get the number of class lookups that had to call Class.forName.
+     * 
+     * @return The number of cache misses.
+     */
+    public static long getCacheMisses() {
+        return misses.get();
+    }
+    
+    /**
+     * Forget every resolved class and the server version,
+     * and reset the hit and miss counters.
+     */
+    public static void clearCache() {
+        nmsClasses.clear();
+        obcClasses.clear();
+        hits.set(0);
+        misses.set(0);
+        version = null;
+    }
+    
+    private static Class<?> getClass(ConcurrentMap<String, Class<?>> classes, String root, String className) {
+        Class<?> clazz = classes.get(className);
+        
+        if (clazz != null) {
+            hits.incrementAndGet();
+            return (clazz == MISSING) ? null : clazz;
+        }
+        
+        misses.incrementAndGet();
+        String clazzName = root + getVersion() + "." + className;
+        
         try {
             clazz = Class.forName(clazzName);
         } catch (ClassNotFoundException e) {
+            // Only reported the first time; later lookups hit the cache.
             e.printStackTrace();
+            clazz = MISSING;
         }
-
-        return clazz;
+        
+        classes.put(className, clazz);
+        return (clazz == MISSING) ? null : clazz;
+    }
+    
+    private static final class Missing {
     }
 }
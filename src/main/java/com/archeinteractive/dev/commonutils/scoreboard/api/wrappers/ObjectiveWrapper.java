@@ -1,5 +1,6 @@
 package com.archeinteractive.dev.commonutils.scoreboard.api.wrappers;
 
+import java.util.List;
 import java.util.Set;
 
 import org.bukkit.entity.Player;
@@ -69,6 +70,46 @@ public interface ObjectiveWrapper extends ScoreboardComponentWrapper {
      */
     public Set<String> getHighestScore(Set<String> entries);
     
+    /**
+     * Get the entries with the highest scores for the Objective, highest
+     * first. Entries with the same score are ordered by name.
+     * <p/>
+     * The scores of an Objective on a custom Scoreboard whose criterion can be
+     * modified are kept ranked, making this an O(log n + amount) lookup.
+     * Otherwise the scores are ranked for each call.
+     * 
+     * @param amount    The maximum amount of entries to return.
+     * @return A List of at most the given amount of entries.
+     */
+    public List<String> getTopN(int amount);
+    
+    /**
+     * Get the rank of the given entry's score for the Objective. The entry with
+     * the highest score has rank 1, and entries with the same score share the
+     * same rank.
+     * <p/>
+     * This is an O(log n) lookup when the scores of the Objective are kept
+     * ranked; see {@link #getTopN(int)}.
+     * 
+     * @param entry     The entry whose rank should be looked up.
+     * @return The rank of the entry, or <b>-1</b> if the entry doesn't have a
+     *         score for the Objective.
+     */
+    public int getRank(String entry);
+    
+    /**
+     * Get the entries whose scores for the Objective are within the given
+     * range, highest first.
+     * <p/>
+     * This is an O(log n + k) lookup when the scores of the Objective are kept
+     * ranked; see {@link #getTopN(int)}.
+     * 
+     * @param min   The lowest score to include.
+     * @param max   The highest score to include.
+     * @return A List of the entries within the range.
+     */
+    public List<String> getEntriesInRange(int min, int max);
+    
     /**
      * Increment the given Player's score by one for the Objective represented
      * by this object, returning their previous value.
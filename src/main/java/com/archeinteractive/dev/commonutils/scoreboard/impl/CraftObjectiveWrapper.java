@@ -1,6 +1,7 @@
 package com.archeinteractive.dev.commonutils.scoreboard.impl;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.bukkit.OfflinePlayer;
@@ -107,13 +108,14 @@ public class CraftObjectiveWrapper implements ObjectiveWrapper, Objective {
         team.addEntry(entry_16);
         team.setDisplayPrefix(prefix_16);
         team.setDisplaySuffix(suffix_16);
-        objective.getScore(entry_16).setScore(score);
+        setScoreFor(entry_16, score);
     }
     
     /**
      * Sort through all of the entries (in O(n) time) currently associated with
      * the Objective and compile a Set with the entries that have the highest
-     * score.
+     * score. If the scores of the Objective are ranked, they are looked up in
+     * the ranking instead.
      * <p/>
      * The returned set is likely to have size 1, however if there is a tie it
      * can be larger, and if there are no entries currently associated with the
@@ -122,7 +124,18 @@ public class CraftObjectiveWrapper implements ObjectiveWrapper, Objective {
      * @return The entries with the highest score.
      */
     public Set<String> getHighestScore() {
-        return getHighestScore(wrapper.getEntrySet());
+        CraftScoreboardWrapper board = CraftScoreboardWrapper.getCraftWrapper(wrapper);
+        ScoreRanking ranking = (board != null) ? board.getScoreRanking(objective) : null;
+        
+        if (ranking == null)
+            return getHighestScore(wrapper.getEntrySet());
+        
+        Integer highest = ranking.getHighest();
+        
+        if (highest == null)
+            return new HashSet<>();
+        
+        return new HashSet<>(ranking.getRange(highest, highest));
     }
     
     /**
@@ -152,6 +165,54 @@ public class CraftObjectiveWrapper implements ObjectiveWrapper, Objective {
         
         return winning;
     }
+    
+    /**
+     * Get the entries with the highest scores for the Objective, highest
+     * first. Entries with the same score are ordered by name.
+     * 
+     * @param amount    The maximum amount of entries to return.
+     * @return A List of at most the given amount of entries.
+     */
+    public List<String> getTopN(int amount) {
+        return getScoreRanking().getTop(amount);
+    }
+    
+    /**
+     * Get the rank of the given entry's score for the Objective. The entry with
+     * the highest score has rank 1, and entries with the same score share the
+     * same rank.
+     * 
+     * @param entry     The entry whose rank should be looked up.
+     * @return The rank of the entry, or <b>-1</b> if the entry doesn't have a
+     *         score for the Objective.
+     */
+    public int getRank(String entry) {
+        return getScoreRanking().getRank(entry);
+    }
+    
+    /**
+     * Get the entries whose scores for the Objective are within the given
+     * range, highest first.
+     * 
+     * @param min   The lowest score to include.
+     * @param max   The highest score to include.
+     * @return A List of the entries within the range.
+     */
+    public List<String> getEntriesInRange(int min, int max) {
+        return getScoreRanking().getRange(min, max);
+    }
+    
+    private ScoreRanking getScoreRanking() {
+        CraftScoreboardWrapper board = CraftScoreboardWrapper.getCraftWrapper(wrapper);
+        
+        if (board == null)
+            return ScoreRanking.of(wrapper.getScoreboard(), getCodeName());
+        
+        ScoreRanking ranking = board.getScoreRanking(objective);
+        
+        // Not kept for this Objective, so rank its scores for this query only
+        return (ranking != null) ? ranking : ScoreRanking.of(board.bypassProxy(), getCodeName());
+    }
 
     /**
      * Increment the given Player's score by one for the Objective represented
@@ -312,6 +373,18 @@ public class CraftObjectiveWrapper implements ObjectiveWrapper, Objective {
         int prev = getScoreFor(entry);
         
         objective.getScore(entry).setScore(value);
+        
+        if (!(objective instanceof ObjectiveProxy)) {
+            // Scores of proxied Objectives are tracked by their ScoreProxy.
+            CraftScoreboardWrapper board = CraftScoreboardWrapper.getCraftWrapper(wrapper);
+            
+            if (board != null) {
+                TeamWrapper team = board.getTeamForEntry(entry);
+                String team_name = (team != null) ? team.getCodeName() : null;
+                board.scoreChanged(getCodeName(), entry, team_name, prev, value);
+            }
+        }
+        
         return prev;
     }
     
@@ -341,9 +414,19 @@ public class CraftObjectiveWrapper implements ObjectiveWrapper, Objective {
      * it's Objective will no longer be valid after this call returns.
      */
     public void unregisterComponent() {
+        objectiveRemoved();
         objective.unregister();
     }
     
+    private void objectiveRemoved() {
+        if (!(objective instanceof ObjectiveProxy)) {
+            CraftScoreboardWrapper board = CraftScoreboardWrapper.getCraftWrapper(wrapper);
+            
+            if (board != null)
+                board.objectiveChanged(getCodeName());
+        }
+    }
+    
     // Must override equals for compatibility
     public boolean equals(Object obj) {
         return objective.equals(obj);
@@ -392,6 +475,7 @@ public class CraftObjectiveWrapper implements ObjectiveWrapper, Objective {
     }
 
     public void unregister() throws IllegalStateException {
+        objectiveRemoved();
         objective.unregister();
     }
 }
@@ -1,7 +1,6 @@
 package com.archeinteractive.dev.commonutils.scoreboard.impl;
 
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.Proxy;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -36,6 +35,11 @@ public class CraftScoreboardWrapper implements ScoreboardWrapper, Scoreboard {
     /** The original, unproxied scoreboard. */
     private Scoreboard original;
     private Scoreboard board;
+    private final TeamScoreTotals totals;
+    /** The name of the Team of each entry, built on first lookup. */
+    private Map<String, String> entry_teams;
+    /** The ranked scores of each Objective, built on first query. */
+    private final Map<String, ScoreRanking> rankings;
     
     private CraftScoreboardWrapper(Scoreboard board, String label) {
         if (board == null)
@@ -43,6 +47,8 @@ public class CraftScoreboardWrapper implements ScoreboardWrapper, Scoreboard {
         
         this.original = board;
         this.board = board;
+        this.totals = new TeamScoreTotals(board);
+        this.rankings = new HashMap<>();
         this.label = label;
         this.main = label == null;
     }
@@ -69,6 +75,178 @@ public class CraftScoreboardWrapper implements ScoreboardWrapper, Scoreboard {
         this.board = proxy;
     }
     
+    /**
+     * Get the running Team score totals of the Scoreboard behind the given
+     * wrapper. Totals are not kept for the server main Scoreboard, whose
+     * Teams and scores are also changed by the server and other plugins.
+     * 
+     * @param wrapper   The ScoreboardWrapper to look up.
+     * @return The totals, or <b>null</b> if the wrapper is not one of ours or
+     *         represents the server main Scoreboard.
+     */
+    static TeamScoreTotals getTeamScoreTotals(ScoreboardWrapper wrapper) {
+        CraftScoreboardWrapper craft = getCraftWrapper(wrapper);
+        return (craft != null && !craft.main) ? craft.totals : null;
+    }
+    
+    /**
+     * Get the CraftScoreboardWrapper behind the given wrapper.
+     * 
+     * @param wrapper   The ScoreboardWrapper to look up.
+     * @return The CraftScoreboardWrapper, or <b>null</b> if the wrapper is not
+     *         one of ours.
+     */
+    static CraftScoreboardWrapper getCraftWrapper(ScoreboardWrapper wrapper) {
+        if (wrapper instanceof ScoreboardProxy)
+            wrapper = ((ScoreboardProxy) wrapper).getProxiedScoreboardWrapper();
+        
+        return (wrapper instanceof CraftScoreboardWrapper) ? (CraftScoreboardWrapper) wrapper : null;
+    }
+    
+    /**
+     * Get the name of the Team that the given entry belongs to. Other than for
+     * the server main Scoreboard, whose Teams are also changed by the server
+     * and other plugins, this is looked up in an index of every entry's Team,
+     * kept up to date by the TeamWrappers of this Scoreboard. Changes made
+     * through the Bukkit Teams themselves are not seen by the index, so
+     * {@link #getTeamForEntry(String)} checks its answer against the Teams.
+     * 
+     * @param entry The entry whose Team should be looked up.
+     * @return The name of the Team, or <b>null</b> if the entry isn't on a
+     *         Team.
+     */
+    synchronized String getTeamNameForEntry(String entry) {
+        if (main) {
+            for (Team team : original.getTeams()) {
+                if (team.hasEntry(entry))
+                    return team.getName();
+            }
+            
+            return null;
+        }
+        
+        if (entry_teams == null) {
+            entry_teams = new HashMap<>();
+            
+            for (Team team : original.getTeams()) {
+                for (String teammate : team.getEntries()) {
+                    entry_teams.put(teammate, team.getName());
+                }
+            }
+        }
+        
+        return entry_teams.get(entry);
+    }
+    
+    /**
+     * Called after an entry was added to the Team by the given name.
+     * 
+     * @param team      The name of the Team the entry joined.
+     * @param previous  The name of the Team the entry was on before, if any.
+     * @param entry     The entry that joined the Team.
+     */
+    synchronized void entryAdded(String team, String previous, String entry) {
+        if (previous != null)
+            totals.entryRemoved(previous, entry);
+        
+        totals.entryAdded(team, entry);
+        
+        if (entry_teams != null)
+            entry_teams.put(entry, team);
+    }
+    
+    /**
+     * Called after an entry was removed from the Team by the given name.
+     */
+    synchronized void entryRemoved(String team, String entry) {
+        totals.entryRemoved(team, entry);
+        
+        if (entry_teams != null)
+            entry_teams.remove(entry, team);
+    }
+    
+    /**
+     * Get the ranked scores of the given Objective. Rankings are kept up to
+     * date as scores are set through the API, so they are not kept for the
+     * server main Scoreboard, nor for Objectives whose scores are changed by
+     * the server itself.
+     * 
+     * @param objective The Objective whose scores should be ranked.
+     * @return The ranking, or <b>null</b> if none is kept for the Objective.
+     */
+    synchronized ScoreRanking getScoreRanking(Objective objective) {
+        if (main || !objective.isModifiable())
+            return null;
+        
+        String name = objective.getName();
+        ScoreRanking ranking = rankings.get(name);
+        
+        if (ranking == null) {
+            ranking = ScoreRanking.of(original, name);
+            rankings.put(name, ranking);
+        }
+        
+        return ranking;
+    }
+    
+    /**
+     * Called after the score of an entry was set.
+     * 
+     * @param objective The name of the Objective of the score.
+     * @param entry     The entry whose score was set.
+     * @param team      The name of the entry's Team, if it is on one.
+     * @param previous  The previous score of the entry.
+     * @param score     The new score of the entry.
+     */
+    synchronized void scoreChanged(String objective, String entry, String team, int previous, int score) {
+        if (team != null)
+            totals.scoreChanged(team, objective, score - previous);
+        
+        ScoreRanking ranking = rankings.get(objective);
+        
+        if (ranking != null)
+            ranking.set(entry, score);
+    }
+    
+    /**
+     * Called before all scores of an entry are reset.
+     */
+    synchronized void scoresResetting(String entry) {
+        TeamWrapper team = getTeamForEntry(entry);
+        
+        if (team != null)
+            totals.scoresResetting(team.getCodeName(), entry);
+        
+        for (ScoreRanking ranking : rankings.values()) {
+            ranking.remove(entry);
+        }
+    }
+    
+    /**
+     * Called when an Objective by the given name is registered or
+     * unregistered.
+     */
+    synchronized void objectiveChanged(String objective) {
+        totals.invalidateObjective(objective);
+        rankings.remove(objective);
+    }
+    
+    private synchronized void invalidateScores() {
+        totals.invalidate();
+        rankings.clear();
+    }
+    
+    /**
+     * Called when every entry is removed from the Team by the given name, or
+     * when it is about to be unregistered.
+     */
+    synchronized void teamCleared(String team) {
+        totals.invalidateTeam(team);
+        
+        if (entry_teams != null)
+            entry_teams.values().removeAll(Collections.singleton(team));
+    }
+    
     /**
      * Get the label that this ScoreboardWrapper was registered under. If this
      * ScoreboardWrapper represents the server main Scoreboard, the label will
@@ -120,10 +298,12 @@ public class CraftScoreboardWrapper implements ScoreboardWrapper, Scoreboard {
         if (entries.size() < 1)
             return false;
         
+        // Every total is dropped anyway, so skip adjusting them entry by entry
         for (String entry : entries) {
-            board.resetScores(entry);
+            original.resetScores(entry);
         }
         
+        invalidateScores();
         return true;
     }
     
@@ -156,6 +336,7 @@ public class CraftScoreboardWrapper implements ScoreboardWrapper, Scoreboard {
             }
         }
         
+        invalidateScores();
         return true;
     }
     
@@ -185,6 +366,11 @@ public class CraftScoreboardWrapper implements ScoreboardWrapper, Scoreboard {
             }
         }
         
+        synchronized (this) {
+            entry_teams = null;
+        }
+        
+        totals.invalidate();
         return true;
     }
     
@@ -277,16 +463,20 @@ public class CraftScoreboardWrapper implements ScoreboardWrapper, Scoreboard {
         Set<TeamWrapper> team_wrappers = new HashSet<>();
         
         for (Team team : teams) {
-            if (team instanceof TeamWrapper) {
-                team_wrappers.add((TeamWrapper) team);
-            } else {
-                team_wrappers.add((TeamWrapper) TeamProxy.newProxy(this, team, main));
-            }
+            team_wrappers.add(wrapTeam(team));
         }
         
         return team_wrappers;
     }
     
+    private TeamWrapper wrapTeam(Team team) {
+        if (team instanceof TeamWrapper) {
+            return (TeamWrapper) team;
+        } else {
+            return (TeamWrapper) TeamProxy.newProxy(this, team, main);
+        }
+    }
+    
     /**
      * Register an Objective under the given name and the 'dummy' criterion. If
      * such an Objective already exists, the criterion will be ignored, and that
@@ -314,14 +504,10 @@ public class CraftScoreboardWrapper implements ScoreboardWrapper, Scoreboard {
         try { // Newly registered objective should have been intercepted and proxied
             Objective registered = board.registerNewObjective(name, criterion.getCriterionString());
             
-            if (Proxy.isProxyClass(registered.getClass())) {
-                InvocationHandler ih = Proxy.getInvocationHandler(registered);
+            if (registered instanceof ObjectiveProxy) {
+                ObjectiveProxy proxy = (ObjectiveProxy) registered;
                 
-                if (ih instanceof ObjectiveProxy) {
-                    ObjectiveProxy proxy = (ObjectiveProxy) ih;
-                    
-                    return proxy.getObjectiveWrapper();
-                }
+                return proxy.getObjectiveWrapper();
             }
             
             if (ScoreboardProxy.PROXY_OBJECTIVES) {
@@ -352,29 +538,18 @@ public class CraftScoreboardWrapper implements ScoreboardWrapper, Scoreboard {
         
         Objective objective = board.getObjective(name);
         
-        if (Proxy.isProxyClass(objective.getClass())) {
-            InvocationHandler ih = Proxy.getInvocationHandler(objective);
-            
-            if (ih instanceof ObjectiveProxy) {
-                ObjectiveProxy proxy = (ObjectiveProxy) ih;
-                
-                return proxy.getObjectiveWrapper();
-            }
+        if (objective instanceof ObjectiveProxy) {
+            ObjectiveProxy proxy = (ObjectiveProxy) objective;
             
-            Bukkit.getLogger().warning("Scoreboard util- Existing Objective proxy was not a ObjectiveProxy!");
-            return null; // return new CraftObjectiveWrapper(this, objective).setProxy(objective);
+            return proxy.getObjectiveWrapper();
         } else {
             if (ScoreboardProxy.PROXY_OBJECTIVES) {
                 Objective proxy = ObjectiveProxy.newProxy(this, objective, main);
                 
-                if (Proxy.isProxyClass(proxy.getClass())) {
-                    InvocationHandler ih = Proxy.getInvocationHandler(proxy);
+                if (proxy instanceof ObjectiveProxy) {
+                    ObjectiveProxy proxyHandler = (ObjectiveProxy) proxy;
                     
-                    if (ih instanceof ObjectiveProxy) {
-                        ObjectiveProxy proxyHandler = (ObjectiveProxy) ih;
-                        
-                        return proxyHandler.getObjectiveWrapper();
-                    }
+                    return proxyHandler.getObjectiveWrapper();
                 }
                 
                 Bukkit.getLogger().warning("Scoreboard util- Existing Objective could not be proxied!");
@@ -403,14 +578,10 @@ public class CraftScoreboardWrapper implements ScoreboardWrapper, Scoreboard {
         try { // Newly registered team should have been intercepted and proxied
             Team registered = board.registerNewTeam(name);
             
-            if (Proxy.isProxyClass(registered.getClass())) {
-                InvocationHandler ih = Proxy.getInvocationHandler(registered);
+            if (registered instanceof TeamProxy) {
+                TeamProxy proxy = (TeamProxy) registered;
                 
-                if (ih instanceof TeamProxy) {
-                    TeamProxy proxy = (TeamProxy) ih;
-                    
-                    return proxy.getTeamWrapper();
-                }
+                return proxy.getTeamWrapper();
             }
             
             if (ScoreboardProxy.PROXY_TEAMS) {
@@ -441,29 +612,18 @@ public class CraftScoreboardWrapper implements ScoreboardWrapper, Scoreboard {
         
         Team team = board.getTeam(name);
         
-        if (Proxy.isProxyClass(team.getClass())) {
-            InvocationHandler ih = Proxy.getInvocationHandler(team);
+        if (team instanceof TeamProxy) {
+            TeamProxy proxy = (TeamProxy) team;
             
-            if (ih instanceof TeamProxy) {
-                TeamProxy proxy = (TeamProxy) ih;
-                
-                return proxy.getTeamWrapper();
-            }
-
-            Bukkit.getLogger().warning("Scoreboard util- Existing Team proxy was not a TeamProxy!");
-            return null; // return new CraftTeamWrapper(this, team).setProxy(team);
+            return proxy.getTeamWrapper();
         } else {
             if (ScoreboardProxy.PROXY_TEAMS) {
                 Team proxy = TeamProxy.newProxy(this, team, main);
                 
-                if (Proxy.isProxyClass(proxy.getClass())) {
-                    InvocationHandler ih = Proxy.getInvocationHandler(proxy);
+                if (proxy instanceof TeamProxy) {
+                    TeamProxy proxyHandler = (TeamProxy) proxy;
                     
-                    if (ih instanceof TeamProxy) {
-                        TeamProxy proxyHandler = (TeamProxy) ih;
-                        
-                        return proxyHandler.getTeamWrapper();
-                    }
+                    return proxyHandler.getTeamWrapper();
                 }
                 
                 Bukkit.getLogger().warning("Scoreboard util- Existing Team could not be proxied!");
@@ -499,14 +659,46 @@ public class CraftScoreboardWrapper implements ScoreboardWrapper, Scoreboard {
      *         isn't on a Team.
      */
     public TeamWrapper getTeamForEntry(String entry) {
-        for (TeamWrapper team : getTeamSet()) {
-            if (team.hasEntry(entry)) {
-                return team;
+        String name = getTeamNameForEntry(entry);
+        
+        if (name != null) {
+            Team team = board.getTeam(name);
+            
+            if (team != null && team.hasEntry(entry))
+                return wrapTeam(team);
+        } else if (main) {
+            return null;
+        }
+        
+        // The index missed or is stale, as Teams can also be changed through
+        // the Bukkit Team objects themselves; look through every Team instead.
+        for (TeamWrapper team_wrapper : getTeamSet()) {
+            if (team_wrapper.hasEntry(entry)) {
+                teamsChanged(name, team_wrapper.getCodeName());
+                return team_wrapper;
             }
         }
         
+        if (name != null)
+            teamsChanged(name, null);
+        
         return null;
     }
+    
+    /*
+     * Called when the Teams were found to have been changed behind our back;
+     * the index is rebuilt on next lookup, and the totals of the Teams
+     * involved are dropped.
+     */
+    private synchronized void teamsChanged(String previous, String current) {
+        entry_teams = null;
+        
+        if (previous != null)
+            totals.invalidateTeam(previous);
+        
+        if (current != null)
+            totals.invalidateTeam(current);
+    }
 
     // Must override equals for compatibility
     public boolean equals(Object obj) {
@@ -591,13 +783,8 @@ public class CraftScoreboardWrapper implements ScoreboardWrapper, Scoreboard {
      *         an error occurred.
      */
     public static ScoreboardWrapper integrateExistingScoreboard(Scoreboard scoreboard, String label) {
-        if (Proxy.isProxyClass(scoreboard.getClass())) {
-            if (scoreboard instanceof ScoreboardWrapper) {
-                return (ScoreboardWrapper) scoreboard;
-            }
-            
-            Bukkit.getLogger().warning("Scoreboard util- Existing Scoreboard was proxy but not ScoreboardWrapper!");
-            return null;
+        if (scoreboard instanceof ScoreboardProxy) {
+            return (ScoreboardWrapper) scoreboard;
         }
         
         if (SERVERMAIN != null) {
@@ -612,19 +799,13 @@ public class CraftScoreboardWrapper implements ScoreboardWrapper, Scoreboard {
             if (wrapper == null)
                 continue;
             
-            if (Proxy.isProxyClass(wrapper.getClass())) {
-                InvocationHandler ih = Proxy.getInvocationHandler(wrapper);
+            if (wrapper instanceof ScoreboardProxy) {
+                ScoreboardProxy proxy = (ScoreboardProxy) wrapper;
                 
-                if (ih instanceof ScoreboardProxy) {
-                    ScoreboardProxy proxy = (ScoreboardProxy) ih;
-                    
-                    CraftScoreboardWrapper custom_wrapper = proxy.getProxiedScoreboardWrapper();
-                    
-                    if (scoreboard.equals(custom_wrapper.bypassProxy())) {
-                        return wrapper;
-                    }
-                } else {
-                    Bukkit.getLogger().warning("Scoreboard util- Custom Wrapper was a proxy but not a ScoreboardProxy!");
+                CraftScoreboardWrapper custom_wrapper = proxy.getProxiedScoreboardWrapper();
+                
+                if (scoreboard.equals(custom_wrapper.bypassProxy())) {
+                    return wrapper;
                 }
             } else {
                 Bukkit.getLogger().warning("Scoreboard util- Custom Wrapper was not null and not a proxy!");
@@ -696,12 +877,8 @@ public class CraftScoreboardWrapper implements ScoreboardWrapper, Scoreboard {
                     "The label %s is already in use!", label));
         }
         
-        if (Proxy.isProxyClass(scoreboard.getClass())) {
-            if (scoreboard instanceof ScoreboardWrapper) {
-                return (ScoreboardWrapper) scoreboard;
-            }
-            
-            Bukkit.getLogger().warning("Scoreboard util- Existing Scoreboard was proxy but not ScoreboardWrapper!");
+        if (scoreboard instanceof ScoreboardProxy) {
+            return (ScoreboardWrapper) scoreboard;
         }
         
         CraftScoreboardWrapper wrapper = new CraftScoreboardWrapper(scoreboard, label);
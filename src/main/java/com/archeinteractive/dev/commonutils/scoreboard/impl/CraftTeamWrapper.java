@@ -78,6 +78,8 @@ public class CraftTeamWrapper implements TeamWrapper, Team {
         for (String entry : getEntries()) {
             team.removeEntry(entry);
         }
+        
+        cleared();
     }
 
     /**
@@ -98,12 +100,34 @@ public class CraftTeamWrapper implements TeamWrapper, Team {
     }
 
     /**
-     * Get the sum of this Team's scores for the given objective.
+     * Get the sum of this Team's scores for the given objective. The sum is
+     * kept as a running total after it is first computed, unless the scores
+     * of the Objective are changed by the server itself or the Team is on the
+     * server main Scoreboard.
      * 
      * @param objective The ObjectiveWrapper of the objective to use.
      * @return The sum of this Team's scores for the given Objective.
      */
     public int getTotalScores(ObjectiveWrapper objective) {
+        TeamScoreTotals totals = CraftScoreboardWrapper.getTeamScoreTotals(wrapper);
+        
+        if (totals == null || !isModifiable(objective))
+            return sumScores(objective);
+        
+        String team_name = getCodeName();
+        String objective_name = objective.getCodeName();
+        int size = team.getSize();
+        Integer total = totals.get(team_name, objective_name, size);
+        
+        if (total == null) {
+            total = sumScores(objective);
+            totals.put(team_name, objective_name, total, size);
+        }
+        
+        return total;
+    }
+    
+    private int sumScores(ObjectiveWrapper objective) {
         Set<String> entries = getEntries();
         int total = 0;
         
@@ -118,6 +142,30 @@ public class CraftTeamWrapper implements TeamWrapper, Team {
         
         return total;
     }
+    
+    private static boolean isModifiable(ObjectiveWrapper objective) {
+        try {
+            return objective.getObjective().isModifiable();
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+    
+    /*
+     * Changes to the entries are reported to the Scoreboard by the wrapper of
+     * the unproxied Team only, as the wrapper of a TeamProxy passes its
+     * changes on to that wrapper.
+     */
+    private CraftScoreboardWrapper getTrackingBoard() {
+        return (team instanceof TeamProxy) ? null : CraftScoreboardWrapper.getCraftWrapper(wrapper);
+    }
+    
+    private void cleared() {
+        CraftScoreboardWrapper board = getTrackingBoard();
+        
+        if (board != null)
+            board.teamCleared(getCodeName());
+    }
 
     /**
      * Get the sum of this Team's scores for the given objective name.
@@ -208,7 +256,13 @@ public class CraftTeamWrapper implements TeamWrapper, Team {
      * @param entry     The entry that should be added.
      */
     public void addEntry(String entry) {
+        CraftScoreboardWrapper board = getTrackingBoard();
+        String previous = (board != null) ? board.getTeamNameForEntry(entry) : null;
+        
         team.addEntry(entry);
+        
+        if (board != null)
+            board.entryAdded(getCodeName(), previous, entry);
     }
 
     /**
@@ -252,6 +306,12 @@ public class CraftTeamWrapper implements TeamWrapper, Team {
     public boolean removeEntry(String entry) {
         if (team.hasEntry(entry)) {
             team.removeEntry(entry);
+            
+            CraftScoreboardWrapper board = getTrackingBoard();
+            
+            if (board != null)
+                board.entryRemoved(getCodeName(), entry);
+            
             return true;
         }
         
@@ -345,6 +405,7 @@ public class CraftTeamWrapper implements TeamWrapper, Team {
      * will no longer be valid after this call returns.
      */
     public void unregisterComponent() {
+        cleared();
         team.unregister();
     }
     
@@ -355,7 +416,13 @@ public class CraftTeamWrapper implements TeamWrapper, Team {
 
     // Bukkit Team delegate methods
     public void addPlayer(OfflinePlayer player) throws IllegalStateException, IllegalArgumentException {
+        CraftScoreboardWrapper board = getTrackingBoard();
+        String previous = (board != null) ? board.getTeamNameForEntry(player.getName()) : null;
+        
         team.addPlayer(player);
+        
+        if (board != null)
+            board.entryAdded(getCodeName(), previous, player.getName());
     }
 
     public boolean allowFriendlyFire() throws IllegalStateException {
@@ -399,7 +466,13 @@ public class CraftTeamWrapper implements TeamWrapper, Team {
     }
 
     public boolean removePlayer(OfflinePlayer player) throws IllegalStateException, IllegalArgumentException {
-        return team.removePlayer(player);
+        boolean removed = team.removePlayer(player);
+        CraftScoreboardWrapper board = getTrackingBoard();
+        
+        if (removed && board != null)
+            board.entryRemoved(getCodeName(), player.getName());
+        
+        return removed;
     }
 
     public void setAllowFriendlyFire(boolean allow) throws IllegalStateException {
@@ -423,6 +496,7 @@ public class CraftTeamWrapper implements TeamWrapper, Team {
     }
 
     public void unregister() throws IllegalStateException {
+        cleared();
         team.unregister();
     }
 }
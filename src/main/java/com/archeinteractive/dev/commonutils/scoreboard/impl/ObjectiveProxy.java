@@ -1,82 +1,254 @@
 package com.archeinteractive.dev.commonutils.scoreboard.impl;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
 
+import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
+import org.bukkit.scoreboard.DisplaySlot;
 import org.bukkit.scoreboard.Objective;
 import org.bukkit.scoreboard.Score;
+import org.bukkit.scoreboard.Scoreboard;
 
 import com.archeinteractive.dev.commonutils.reflection.CommonReflection;
 import com.archeinteractive.dev.commonutils.reflection.VersionHandler;
 import com.archeinteractive.dev.commonutils.scoreboard.api.wrappers.ObjectiveWrapper;
 import com.archeinteractive.dev.commonutils.scoreboard.api.wrappers.ScoreboardWrapper;
 
-public class ObjectiveProxy implements InvocationHandler {
+/**
+ * An Objective that delegates to a Bukkit Objective, handing out proxied
+ * Scores so that score changes call events. ObjectiveWrapper methods are
+ * delegated to the wrapper of the Objective.
+ * <p/>
+ * The proxied Score of each entry is cached, so updating the same line
+ * repeatedly reuses one proxy. Both the entries and the proxies are held
+ * weakly, so a proxy nobody holds any longer is dropped along with its entry.
+ */
+public class ObjectiveProxy implements Objective, ObjectiveWrapper {
 
     private final CraftObjectiveWrapper proxying;
     private final Objective noproxy;
     private CraftObjectiveWrapper wrapper;
-    
+    private final Map<String, WeakReference<Score>> scores;
+
     private ObjectiveProxy(CraftObjectiveWrapper proxying, Objective noproxy) {
         this.proxying = proxying;
         this.noproxy = noproxy;
         this.wrapper = null;
+        this.scores = new WeakHashMap<>();
     }
-    
+
     private void setObjectiveWrapper(CraftObjectiveWrapper wrapper) {
         this.wrapper = wrapper;
     }
-    
+
     public CraftObjectiveWrapper getObjectiveWrapper() {
         return wrapper;
     }
-    
+
     public Objective getUnproxiedObjective() {
         return noproxy;
     }
-    
-    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-        if (method.getDeclaringClass().equals(Objective.class)) {
-            // Intercept the getScore() method and replace its return with our proxied Score
-            if (method.getName().equals("getScore")) {
-                Class<?>[] params = method.getParameterTypes();
-                
-                if (params.length > 0) {
-                    String entry = null;
-                    
-                    if (params[0].equals(Player.class)) {
-                        entry = ((Player) args[0]).getName();
-                    } else if (params[0].equals(String.class)) {
-                        entry = (String) args[0];
-                    }
-                    
-                    if (entry != null) {
-                        Score score = proxying.getScore(entry);
-                        return ScoreProxy.newProxy(proxying, score);
-                    }
-                }
-            }
-            
-            try {
-                return method.invoke(noproxy, args);
-            } catch (IllegalStateException e) {
-                // Anticipated an unregistered component, if it isn't print stacktrace.
-                if (!e.getMessage().toLowerCase().contains("unregistered")) {
-                    e.printStackTrace();
-                }
-                
-                return null;
+
+    // Intercept the getScore() method and replace its return with our proxied Score
+    public Score getScore(String entry) throws IllegalArgumentException, IllegalStateException {
+        if (entry == null) {
+            return noproxy.getScore(entry);
+        }
+
+        synchronized (scores) {
+            WeakReference<Score> reference = scores.get(entry);
+            Score proxy = (reference != null) ? reference.get() : null;
+
+            if (proxy == null) {
+                proxy = ScoreProxy.newProxy(proxying, proxying.getScore(entry));
+                scores.put(entry, new WeakReference<>(proxy));
             }
+
+            return proxy;
         }
-        
-        return method.invoke(proxying, args);
     }
-    
-    
+
+    // Bukkit Objective delegate methods
+    public String getCriteria() throws IllegalStateException {
+        return noproxy.getCriteria();
+    }
+
+    public String getDisplayName() throws IllegalStateException {
+        return noproxy.getDisplayName();
+    }
+
+    public DisplaySlot getDisplaySlot() throws IllegalStateException {
+        return noproxy.getDisplaySlot();
+    }
+
+    public String getName() throws IllegalStateException {
+        return noproxy.getName();
+    }
+
+    @Deprecated
+    public Score getScore(OfflinePlayer player) throws IllegalArgumentException, IllegalStateException {
+        return noproxy.getScore(player);
+    }
+
+    public Scoreboard getScoreboard() {
+        return noproxy.getScoreboard();
+    }
+
+    public boolean isModifiable() throws IllegalStateException {
+        return noproxy.isModifiable();
+    }
+
+    public void setDisplayName(String name) throws IllegalStateException, IllegalArgumentException {
+        noproxy.setDisplayName(name);
+    }
+
+    public void setDisplaySlot(DisplaySlot slot) throws IllegalStateException {
+        noproxy.setDisplaySlot(slot);
+    }
+
+    public void unregister() throws IllegalStateException {
+        proxying.unregister();
+        clearScores();
+    }
+
+    // ObjectiveWrapper delegate methods
+    public Objective getObjective() {
+        return proxying.getObjective();
+    }
+
+    public ScoreboardWrapper getWrapper() {
+        return proxying.getWrapper();
+    }
+
+    public boolean isValid() {
+        return proxying.isValid();
+    }
+
+    public void formatExtended(String prefix_16, String entry_16, String suffix_16, int score) {
+        proxying.formatExtended(prefix_16, entry_16, suffix_16, score);
+    }
+
+    public void formatExtended(String team_name, String prefix_16, String entry_16, String suffix_16, int score) {
+        proxying.formatExtended(team_name, prefix_16, entry_16, suffix_16, score);
+    }
+
+    public Set<String> getHighestScore() {
+        return proxying.getHighestScore();
+    }
+
+    public Set<String> getHighestScore(Set<String> entries) {
+        return proxying.getHighestScore(entries);
+    }
+
+    public List<String> getTopN(int amount) {
+        return proxying.getTopN(amount);
+    }
+
+    public int getRank(String entry) {
+        return proxying.getRank(entry);
+    }
+
+    public List<String> getEntriesInRange(int min, int max) {
+        return proxying.getEntriesInRange(min, max);
+    }
+
+    public int incrementScore(Player player) {
+        return proxying.incrementScore(player);
+    }
+
+    public int incrementScore(String entry) {
+        return proxying.incrementScore(entry);
+    }
+
+    public int decrementScore(Player player) {
+        return proxying.decrementScore(player);
+    }
+
+    public int decrementScore(String entry) {
+        return proxying.decrementScore(entry);
+    }
+
+    public int deltaScore(Player player, int amount) {
+        return proxying.deltaScore(player, amount);
+    }
+
+    public int deltaScore(String entry, int amount) {
+        return proxying.deltaScore(entry, amount);
+    }
+
+    public String getCriterion() {
+        return proxying.getCriterion();
+    }
+
+    public String getCodeName() {
+        return proxying.getCodeName();
+    }
+
+    public String getDisplay() {
+        return proxying.getDisplay();
+    }
+
+    public void setDisplay(String name) {
+        proxying.setDisplay(name);
+    }
+
+    public int getScoreFor(Player player) {
+        return proxying.getScoreFor(player);
+    }
+
+    public int getScoreFor(String entry) {
+        return proxying.getScoreFor(entry);
+    }
+
+    public int setScoreFor(Player player, int value) {
+        return proxying.setScoreFor(player, value);
+    }
+
+    public int setScoreFor(String entry, int value) {
+        return proxying.setScoreFor(entry, value);
+    }
+
+    public void setDisplaySlotSideBar() {
+        proxying.setDisplaySlotSideBar();
+    }
+
+    public void setDisplaySlotBelowName() {
+        proxying.setDisplaySlotBelowName();
+    }
+
+    public void setDisplaySlotPlayerList() {
+        proxying.setDisplaySlotPlayerList();
+    }
+
+    public void unregisterComponent() {
+        proxying.unregisterComponent();
+        clearScores();
+    }
+
+    private void clearScores() {
+        synchronized (scores) {
+            scores.clear();
+        }
+    }
+
+    public boolean equals(Object obj) {
+        return proxying.equals(obj);
+    }
+
+    public int hashCode() {
+        return proxying.hashCode();
+    }
+
+    public String toString() {
+        return proxying.toString();
+    }
+
+
     /**
      * Create a new proxy for an Objective. If the given Objective is already a
      * proxy, nothing will be changed, and the existing proxy will be returned.
@@ -84,38 +256,34 @@ public class ObjectiveProxy implements InvocationHandler {
      * In this method, a newly proxied Objective will inject itself into the
      * Scoreboard's map of Objectives, causing all subsequent references that
      * the Scoreboard gives to be a reference to the proxy.
-     * 
+     *
      * @param objective The Objective that should be proxied.
      * @return An Objective instance that proxies the given Objective instance.
      */
     @SuppressWarnings({ "unchecked", "rawtypes" })
     protected static Objective newProxy(ScoreboardWrapper wrapper, Objective objective, boolean main) {
-        if (Proxy.isProxyClass(objective.getClass())) {
+        if (objective instanceof ObjectiveProxy) {
             return objective;
         }
-        
+
         CraftObjectiveWrapper objective_wrapper = new CraftObjectiveWrapper(wrapper, objective);
-        ObjectiveProxy invocationHandler = new ObjectiveProxy(objective_wrapper, objective);
-        Objective proxy = (Objective) Proxy.newProxyInstance(
-                ObjectiveProxy.class.getClassLoader(),
-                new Class<?>[] { Objective.class, ObjectiveWrapper.class },
-                invocationHandler);
+        ObjectiveProxy proxy = new ObjectiveProxy(objective_wrapper, objective);
         objective_wrapper.setProxy(proxy);
-        invocationHandler.setObjectiveWrapper(new CraftObjectiveWrapper(wrapper, proxy).setProxy(proxy));
-        
+        proxy.setObjectiveWrapper(new CraftObjectiveWrapper(wrapper, proxy).setProxy(proxy));
+
         if (main) {
             // Don't inject the proxies into the server main Scoreboard
             return proxy;
         }
-        
+
         Class<?> classCraftScoreboard = VersionHandler.getOBCClass("scoreboard.CraftScoreboard");
         Field fieldObjectivesMap = CommonReflection.getField(classCraftScoreboard, "objectives");
         fieldObjectivesMap.setAccessible(true);
-        
+
         try { // Replaces the Objective known to the CraftScoreboard with the proxied Objective
             Map objectives = (Map) fieldObjectivesMap.get(proxy.getScoreboard());
             objectives.put(proxy.getName(), proxy);
-            
+
             return proxy;
         } catch (IllegalArgumentException | IllegalAccessException e) {
             e.printStackTrace();
@@ -1,19 +1,23 @@
 package com.archeinteractive.dev.commonutils.scoreboard.impl;
 
 import java.lang.ref.WeakReference;
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
 
 import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.scoreboard.Objective;
 import org.bukkit.scoreboard.Score;
+import org.bukkit.scoreboard.Scoreboard;
 
 import com.archeinteractive.dev.commonutils.scoreboard.api.events.ScoreboardScoreChangeEvent;
 import com.archeinteractive.dev.commonutils.scoreboard.api.events.ScoreboardTeamScoreChangeEvent;
 import com.archeinteractive.dev.commonutils.scoreboard.api.wrappers.ObjectiveWrapper;
 import com.archeinteractive.dev.commonutils.scoreboard.api.wrappers.TeamWrapper;
 
-public class ScoreProxy implements InvocationHandler {
+/**
+ * A Score that delegates to a Bukkit Score, calling the score change events
+ * before every change to its value.
+ */
+public class ScoreProxy implements Score {
 
     private final WeakReference<ObjectiveWrapper> wrapper;
     private final Score proxying;
@@ -23,62 +27,95 @@ public class ScoreProxy implements InvocationHandler {
         this.proxying = proxying;
     }
 
-    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-        if (method.getName().equals("setScore")) {
-            Class<?>[] params = method.getParameterTypes();
-
-            if (params.length == 1 && params[0].equals(int.class)) {
-                int oldscore = proxying.getScore();
-                int newscore = (int) args[0];
-                
-                ObjectiveWrapper objectiveWrapper = wrapper.get();
-                
-                if (objectiveWrapper != null) {
-                    String entry = proxying.getEntry();
-                    ScoreboardScoreChangeEvent scoreChange = new ScoreboardScoreChangeEvent(
-                            objectiveWrapper, entry, oldscore, newscore);
-                    Bukkit.getPluginManager().callEvent(scoreChange);
-                    TeamWrapper teamWrapper = objectiveWrapper.getWrapper().getTeamForEntry(entry);
-                    
-                    if (teamWrapper != null) {
-                        int oldteamscore = teamWrapper.getTotalScores(objectiveWrapper);
-                        int newteamscore = oldteamscore + (newscore - oldscore);
-                        
-                        ScoreboardTeamScoreChangeEvent teamChange = new ScoreboardTeamScoreChangeEvent(
-                                objectiveWrapper, teamWrapper, entry, oldteamscore, newteamscore);
-                        teamChange.setCancelled(scoreChange.isCancelled());
-                        Bukkit.getPluginManager().callEvent(teamChange);
-                        
-                        if (teamChange.isCancelled()) {
-                            return null;
-                        }
-                    } else {
-                        if (scoreChange.isCancelled()) {
-                            return null;
-                        }
-                    }
+    public void setScore(int newscore) throws IllegalStateException {
+        int oldscore = proxying.getScore();
+        ObjectiveWrapper objectiveWrapper = wrapper.get();
+        TeamWrapper teamWrapper = null;
+
+        if (objectiveWrapper != null) {
+            String entry = proxying.getEntry();
+            ScoreboardScoreChangeEvent scoreChange = new ScoreboardScoreChangeEvent(
+                    objectiveWrapper, entry, oldscore, newscore);
+            Bukkit.getPluginManager().callEvent(scoreChange);
+            teamWrapper = objectiveWrapper.getWrapper().getTeamForEntry(entry);
+
+            if (teamWrapper != null) {
+                int oldteamscore = teamWrapper.getTotalScores(objectiveWrapper);
+                int newteamscore = oldteamscore + (newscore - oldscore);
+
+                ScoreboardTeamScoreChangeEvent teamChange = new ScoreboardTeamScoreChangeEvent(
+                        objectiveWrapper, teamWrapper, entry, oldteamscore, newteamscore);
+                teamChange.setCancelled(scoreChange.isCancelled());
+                Bukkit.getPluginManager().callEvent(teamChange);
+
+                if (teamChange.isCancelled()) {
+                    return;
+                }
+            } else {
+                if (scoreChange.isCancelled()) {
+                    return;
                 }
             }
         }
 
-        return method.invoke(proxying, args);
+        proxying.setScore(newscore);
+
+        if (objectiveWrapper != null) {
+            CraftScoreboardWrapper board = CraftScoreboardWrapper.getCraftWrapper(objectiveWrapper.getWrapper());
+
+            if (board != null) {
+                String team = (teamWrapper != null) ? teamWrapper.getCodeName() : null;
+                board.scoreChanged(objectiveWrapper.getCodeName(), proxying.getEntry(), team, oldscore, newscore);
+            }
+        }
+    }
+
+    // Bukkit Score delegate methods
+    @Deprecated
+    public OfflinePlayer getPlayer() {
+        return proxying.getPlayer();
+    }
+
+    public String getEntry() {
+        return proxying.getEntry();
+    }
+
+    public Objective getObjective() {
+        return proxying.getObjective();
+    }
+
+    public int getScore() throws IllegalStateException {
+        return proxying.getScore();
+    }
+
+    public Scoreboard getScoreboard() {
+        return proxying.getScoreboard();
+    }
+
+    public boolean equals(Object obj) {
+        return proxying.equals(obj);
+    }
+
+    public int hashCode() {
+        return proxying.hashCode();
+    }
+
+    public String toString() {
+        return proxying.toString();
     }
 
     /**
      * Create a new proxy for a Score. If the given Score is already a proxy,
      * nothing will be changed, and the existing proxy will be returned.
-     * 
+     *
      * @param score The Score that should be proxied.
      * @return A Score instance that proxies the given Score instance.
      */
     protected static Score newProxy(ObjectiveWrapper wrapper, Score score) {
-        if (Proxy.isProxyClass(score.getClass())) {
+        if (score instanceof ScoreProxy) {
             return score;
         }
 
-        return (Score) Proxy.newProxyInstance(
-                ScoreProxy.class.getClassLoader(),
-                new Class<?>[] { Score.class },
-                new ScoreProxy(wrapper, score));
+        return new ScoreProxy(wrapper, score);
     }
 }
@@ -0,0 +1,276 @@
+package com.archeinteractive.dev.commonutils.scoreboard.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.bukkit.scoreboard.Score;
+import org.bukkit.scoreboard.Scoreboard;
+
+/**
+ * The entries of one Objective, ordered by score from highest to lowest (ties
+ * ordered by entry). The entries are kept in a treap that knows the size of
+ * each subtree, so that an entry's rank can be found in O(log n) time, and the
+ * top entries or the entries within a range of scores in O(log n + k) time.
+ */
+final class ScoreRanking {
+
+    private final Map<String, Integer> scores;
+    private Node root;
+
+    ScoreRanking() {
+        this.scores = new HashMap<>();
+        this.root = null;
+    }
+
+    /**
+     * Rank every entry that has a score for the given Objective.
+     *
+     * @param board     The original, unproxied Scoreboard.
+     * @param objective The name of the Objective.
+     * @return The ranking of the Objective's scores.
+     */
+    static ScoreRanking of(Scoreboard board, String objective) {
+        ScoreRanking ranking = new ScoreRanking();
+
+        for (String entry : board.getEntries()) {
+            for (Score score : board.getScores(entry)) {
+                if (score.getObjective().getName().equals(objective)) {
+                    ranking.set(entry, score.getScore());
+                }
+            }
+        }
+
+        return ranking;
+    }
+
+    /**
+     * Set the score of an entry, ranking it if it wasn't yet.
+     */
+    synchronized void set(String entry, int score) {
+        Integer previous = scores.put(entry, score);
+
+        if (previous != null) {
+            if (previous == score)
+                return;
+
+            root = remove(root, previous, entry);
+        }
+
+        root = insert(root, new Node(entry, score));
+    }
+
+    /**
+     * Stop ranking an entry.
+     */
+    synchronized void remove(String entry) {
+        Integer previous = scores.remove(entry);
+
+        if (previous != null)
+            root = remove(root, previous, entry);
+    }
+
+    /**
+     * Get the highest score, or <b>null</b> if no entries are ranked.
+     */
+    synchronized Integer getHighest() {
+        Node node = root;
+
+        if (node == null)
+            return null;
+
+        while (node.left != null) {
+            node = node.left;
+        }
+
+        return node.score;
+    }
+
+    /**
+     * Get the given amount of entries with the highest scores, highest first.
+     */
+    synchronized List<String> getTop(int amount) {
+        List<String> top = new ArrayList<>(Math.max(0, Math.min(amount, scores.size())));
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+
+        while (top.size() < amount && (node != null || !path.isEmpty())) {
+            while (node != null) {
+                path.push(node);
+                node = node.left;
+            }
+
+            node = path.pop();
+            top.add(node.entry);
+            node = node.right;
+        }
+
+        return top;
+    }
+
+    /**
+     * Get the rank of an entry, where the entry with the highest score has
+     * rank 1, and entries with the same score share a rank.
+     *
+     * @return The rank, or <b>-1</b> if the entry isn't ranked.
+     */
+    synchronized int getRank(String entry) {
+        Integer score = scores.get(entry);
+
+        if (score == null)
+            return -1;
+
+        int higher = 0;
+        Node node = root;
+
+        while (node != null) {
+            if (node.score > score) {
+                higher += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+
+        return higher + 1;
+    }
+
+    /**
+     * Get the entries whose scores are within the given range (inclusive),
+     * highest first.
+     */
+    synchronized List<String> getRange(int min, int max) {
+        List<String> range = new ArrayList<>();
+        collect(root, min, max, range);
+        return range;
+    }
+
+    private static void collect(Node node, int min, int max, List<String> range) {
+        if (node == null)
+            return;
+
+        // Higher scores are to the left, lower scores to the right
+        if (node.score > max) {
+            collect(node.right, min, max, range);
+        } else if (node.score < min) {
+            collect(node.left, min, max, range);
+        } else {
+            collect(node.left, min, max, range);
+            range.add(node.entry);
+            collect(node.right, min, max, range);
+        }
+    }
+
+    // Treap operations
+    private static int compare(int score, String entry, Node node) {
+        if (score != node.score)
+            return (score > node.score) ? -1 : 1;
+
+        return entry.compareTo(node.entry);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null)
+            return added;
+
+        if (compare(added.score, added.entry, node) < 0) {
+            node.left = insert(node.left, added);
+
+            if (node.left.priority > node.priority)
+                return rotateRight(node);
+        } else {
+            node.right = insert(node.right, added);
+
+            if (node.right.priority > node.priority)
+                return rotateLeft(node);
+        }
+
+        node.update();
+        return node;
+    }
+
+    private static Node remove(Node node, int score, String entry) {
+        if (node == null)
+            return null;
+
+        int cmp = compare(score, entry, node);
+
+        if (cmp == 0)
+            return merge(node.left, node.right);
+
+        if (cmp < 0) {
+            node.left = remove(node.left, score, entry);
+        } else {
+            node.right = remove(node.right, score, entry);
+        }
+
+        node.update();
+        return node;
+    }
+
+    // Every node of the first treap is ordered before every node of the second
+    private static Node merge(Node first, Node second) {
+        if (first == null)
+            return second;
+
+        if (second == null)
+            return first;
+
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            first.update();
+            return first;
+        } else {
+            second.left = merge(first, second.left);
+            second.update();
+            return second;
+        }
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        left.update();
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        right.update();
+        return right;
+    }
+
+    private static int size(Node node) {
+        return (node != null) ? node.size : 0;
+    }
+
+    private static final class Node {
+
+        private final String entry;
+        private final int score;
+        private final int priority;
+        private Node left;
+        private Node right;
+        private int size;
+
+        private Node(String entry, int score) {
+            this.entry = entry;
+            this.score = score;
+            this.priority = ThreadLocalRandom.current().nextInt();
+            this.size = 1;
+        }
+
+        private void update() {
+            size = size(left) + size(right) + 1;
+        }
+    }
+}
@@ -1,197 +1,328 @@
 package com.archeinteractive.dev.commonutils.scoreboard.impl;
 
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
 import java.util.HashSet;
+import java.util.Set;
 
 import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.scoreboard.DisplaySlot;
 import org.bukkit.scoreboard.Objective;
 import org.bukkit.scoreboard.Score;
 import org.bukkit.scoreboard.Scoreboard;
 import org.bukkit.scoreboard.Team;
 
+import com.archeinteractive.dev.commonutils.scoreboard.api.criteria.ScoreboardCriterion;
 import com.archeinteractive.dev.commonutils.scoreboard.api.wrappers.ObjectiveWrapper;
 import com.archeinteractive.dev.commonutils.scoreboard.api.wrappers.ScoreboardWrapper;
+import com.archeinteractive.dev.commonutils.scoreboard.api.wrappers.TeamWrapper;
 import com.google.common.collect.ImmutableSet;
 
-public class ScoreboardProxy implements InvocationHandler {
+/**
+ * A Scoreboard that delegates to a Bukkit Scoreboard, proxying the
+ * Objectives and Teams registered through it. ScoreboardWrapper methods are
+ * delegated to the wrapper of the Scoreboard.
+ */
+public class ScoreboardProxy implements Scoreboard, ScoreboardWrapper {
 
     public static final boolean PROXY_OBJECTIVES = true;
     public static final boolean PROXY_TEAMS = false;
-    
+
     private final CraftScoreboardWrapper proxying;
     private final Scoreboard noproxy;
     private final boolean main;
-    
+
     private ScoreboardProxy(CraftScoreboardWrapper proxying, Scoreboard noproxy, boolean main) {
         this.proxying = proxying;
         this.noproxy = noproxy;
         this.main = main;
     }
-    
+
     public CraftScoreboardWrapper getProxiedScoreboardWrapper() {
         return proxying;
     }
-    
+
     public Scoreboard getUnproxiedScoreboard() {
         return noproxy;
     }
-    
+
     public boolean isMain() {
         return main;
     }
-    
-    public Object invoke(Object proxy, Method method, Object[] args) throws Exception {
-        Class<?>[] params = method.getParameterTypes();
-        
-        if (method.getDeclaringClass().equals(Scoreboard.class)) {
-            switch (method.getName()) {
-            case "registerNewObjective": // Intercept and proxy new Objectives
-                if (params.length == 2 && params[0].equals(String.class) && params[1].equals(String.class)) {
-                    for (Objective objective : noproxy.getObjectives()) {
-                        if (objective.getName().equals((String) args[0])) {
-                            if (Proxy.isProxyClass(objective.getClass())) {
-                                return objective;
-                            } else {
-                                if (PROXY_OBJECTIVES) {
-                                    return ObjectiveProxy.newProxy(proxying, objective, main);
-                                } else {
-                                    return objective;
-                                }
-                            }
-                        }
-                    }
-                    
-                    Objective created = (Objective) method.invoke(noproxy, args);
-                    
-                    if (Proxy.isProxyClass(created.getClass())) {
-                        return created;
-                    }
-                    
+
+    // Intercept and proxy new Objectives
+    public Objective registerNewObjective(String name, String criteria) throws IllegalArgumentException {
+        for (Objective objective : noproxy.getObjectives()) {
+            if (objective.getName().equals(name)) {
+                if (objective instanceof ObjectiveProxy) {
+                    return objective;
+                } else {
                     if (PROXY_OBJECTIVES) {
-                        return ObjectiveProxy.newProxy(proxying, created, main);
+                        return ObjectiveProxy.newProxy(proxying, objective, main);
                     } else {
-                        return created;
+                        return objective;
                     }
                 }
-                
-                break;
-            case "registerNewTeam": // Intercept and proxy new Teams
-                if (params.length == 1 && params[0].equals(String.class)) {
-                    for (Team team : noproxy.getTeams()) {
-                        if (team.getName().equals((String) args[0])) {
-                            if (Proxy.isProxyClass(team.getClass())) {
-                                return team;
-                            } else {
-                                if (PROXY_TEAMS) {
-                                    return TeamProxy.newProxy(proxying, team, main);
-                                } else {
-                                    return team;
-                                }
-                            }
-                        }
-                    }
-                    
-                    Team created = (Team) method.invoke(noproxy, args);
-                    
-                    if (Proxy.isProxyClass(created.getClass())) {
-                        return created;
-                    }
-                    
+            }
+        }
+
+        Objective created = noproxy.registerNewObjective(name, criteria);
+        proxying.objectiveChanged(name);
+
+        if (created instanceof ObjectiveProxy) {
+            return created;
+        }
+
+        if (PROXY_OBJECTIVES) {
+            return ObjectiveProxy.newProxy(proxying, created, main);
+        } else {
+            return created;
+        }
+    }
+
+    // Intercept and proxy new Teams
+    public Team registerNewTeam(String name) throws IllegalArgumentException {
+        for (Team team : noproxy.getTeams()) {
+            if (team.getName().equals(name)) {
+                if (team instanceof TeamProxy) {
+                    return team;
+                } else {
                     if (PROXY_TEAMS) {
-                        return TeamProxy.newProxy(proxying, created, main);
+                        return TeamProxy.newProxy(proxying, team, main);
                     } else {
-                        return created;
+                        return team;
                     }
                 }
-                
-                break;
-            case "getObjectivesByCriteria":
-                // Our hacky means would be foiled by this method, so we make our own.
-                if (params.length == 1 && params[0].equals(String.class)) {
-                    String criterion = (String) args[0];
-                    ImmutableSet.Builder<Objective> objectives = ImmutableSet.builder();
-                    
-                    for (ObjectiveWrapper objective : proxying.getObjectiveSet()) {
-                        if (objective.getCriterion().equals(criterion)) {
-                            objectives.add(objective.getObjective());
-                        }
-                    }
-                    
-                    return objectives.build();
-                } else {
-                    return new HashSet<Objective>();
-                }
-            case "getScores":
-                // Our hacky means would be foiled by this method, so we make our own.
-                if (params.length == 1) {
-                    String entry = null;
-                    
-                    if (params[0].equals(OfflinePlayer.class)) {
-                        entry = ((OfflinePlayer) args[0]).getName();
-                    } else if (params[0].equals(String.class)) {
-                        entry = (String) args[0];
-                    }
-                    
-                    if (entry != null) {
-                        ImmutableSet.Builder<Score> scores = new ImmutableSet.Builder<>();
-                        
-                        for (ObjectiveWrapper objective : proxying.getObjectiveSet()) {
-                            scores.add(ScoreProxy.newProxy(objective, objective.getObjective().getScore(entry)));
-                        }
-                        
-                        return scores.build();
-                    }
-                }
-                
-                return new HashSet<Score>();
-            case "getPlayerTeam":
-                // Our hacky means would also be foiled by this method.
-                if (params.length == 1 && params[0].equals(OfflinePlayer.class)) {
-                    OfflinePlayer offlineplayer = (OfflinePlayer) args[0];
-                    
-                    if (offlineplayer == null) {
-                        return null;
-                    }
-                    
-                    return proxying.getTeamForEntry(offlineplayer.getName());
-                }
-                
-                return null;
-            default:
-                break;
             }
-            
-            return method.invoke(noproxy, args);
         }
-        
-        return method.invoke(proxying, args);
+
+        Team created = noproxy.registerNewTeam(name);
+        TeamScoreTotals totals = CraftScoreboardWrapper.getTeamScoreTotals(proxying);
+
+        if (totals != null)
+            totals.invalidateTeam(name);
+
+        if (created instanceof TeamProxy) {
+            return created;
+        }
+
+        if (PROXY_TEAMS) {
+            return TeamProxy.newProxy(proxying, created, main);
+        } else {
+            return created;
+        }
+    }
+
+    // Our hacky means would be foiled by this method, so we make our own.
+    public Set<Objective> getObjectivesByCriteria(String criterion) throws IllegalArgumentException {
+        ImmutableSet.Builder<Objective> objectives = ImmutableSet.builder();
+
+        for (ObjectiveWrapper objective : proxying.getObjectiveSet()) {
+            if (objective.getCriterion().equals(criterion)) {
+                objectives.add(objective.getObjective());
+            }
+        }
+
+        return objectives.build();
     }
-    
-    
+
+    // Our hacky means would be foiled by this method, so we make our own.
+    @Deprecated
+    public Set<Score> getScores(OfflinePlayer player) throws IllegalArgumentException {
+        return getScores(player.getName());
+    }
+
+    // Our hacky means would be foiled by this method, so we make our own.
+    public Set<Score> getScores(String entry) throws IllegalArgumentException {
+        if (entry == null) {
+            return new HashSet<Score>();
+        }
+
+        ImmutableSet.Builder<Score> scores = new ImmutableSet.Builder<>();
+
+        for (ObjectiveWrapper objective : proxying.getObjectiveSet()) {
+            scores.add(ScoreProxy.newProxy(objective, objective.getObjective().getScore(entry)));
+        }
+
+        return scores.build();
+    }
+
+    // Our hacky means would also be foiled by this method.
+    public Team getPlayerTeam(OfflinePlayer player) throws IllegalArgumentException {
+        if (player == null) {
+            return null;
+        }
+
+        return (Team) proxying.getTeamForEntry(player.getName());
+    }
+
+    // Bukkit Scoreboard delegate methods
+    public void clearSlot(DisplaySlot slot) throws IllegalArgumentException {
+        noproxy.clearSlot(slot);
+    }
+
+    public Set<String> getEntries() {
+        return noproxy.getEntries();
+    }
+
+    public Objective getObjective(String name) throws IllegalArgumentException {
+        return noproxy.getObjective(name);
+    }
+
+    public Objective getObjective(DisplaySlot slot) throws IllegalArgumentException {
+        return noproxy.getObjective(slot);
+    }
+
+    public Set<Objective> getObjectives() {
+        return noproxy.getObjectives();
+    }
+
+    @Deprecated
+    public Set<OfflinePlayer> getPlayers() {
+        return noproxy.getPlayers();
+    }
+
+    public Team getTeam(String name) throws IllegalArgumentException {
+        return noproxy.getTeam(name);
+    }
+
+    public Set<Team> getTeams() {
+        return noproxy.getTeams();
+    }
+
+    @Deprecated
+    public void resetScores(OfflinePlayer player) throws IllegalArgumentException {
+        resettingScores(player.getName());
+        noproxy.resetScores(player);
+    }
+
+    public void resetScores(String entry) throws IllegalArgumentException {
+        resettingScores(entry);
+        noproxy.resetScores(entry);
+    }
+
+    private void resettingScores(String entry) {
+        if (entry != null) {
+            proxying.scoresResetting(entry);
+        }
+    }
+
+    // ScoreboardWrapper delegate methods
+    public Scoreboard getScoreboard() {
+        return proxying.getScoreboard();
+    }
+
+    public String getLabel() {
+        return proxying.getLabel();
+    }
+
+    public void unregisterWrapper() {
+        proxying.unregisterWrapper();
+    }
+
+    public boolean clearEntries() {
+        return proxying.clearEntries();
+    }
+
+    public void clearEntry(String entry) {
+        proxying.clearEntry(entry);
+    }
+
+    public boolean clearObjectives() {
+        return proxying.clearObjectives();
+    }
+
+    public boolean clearTeams() {
+        return proxying.clearTeams();
+    }
+
+    public void setFor(Player... players) {
+        proxying.setFor(players);
+    }
+
+    public boolean setFor(Player player) {
+        return proxying.setFor(player);
+    }
+
+    public Set<String> getEntrySet() {
+        return proxying.getEntrySet();
+    }
+
+    public Set<ObjectiveWrapper> getObjectiveSet() {
+        return proxying.getObjectiveSet();
+    }
+
+    public Set<TeamWrapper> getTeamSet() {
+        return proxying.getTeamSet();
+    }
+
+    public boolean isObjectiveRegistered(String name) {
+        return proxying.isObjectiveRegistered(name);
+    }
+
+    public boolean isTeamRegistered(String name) {
+        return proxying.isTeamRegistered(name);
+    }
+
+    public ObjectiveWrapper registerObjective(String name) {
+        return proxying.registerObjective(name);
+    }
+
+    public ObjectiveWrapper registerObjective(String name, ScoreboardCriterion criterion) {
+        return proxying.registerObjective(name, criterion);
+    }
+
+    public ObjectiveWrapper getObjectiveByName(String name) {
+        return proxying.getObjectiveByName(name);
+    }
+
+    public TeamWrapper registerTeam(String name) {
+        return proxying.registerTeam(name);
+    }
+
+    public TeamWrapper getTeamByName(String name) {
+        return proxying.getTeamByName(name);
+    }
+
+    public TeamWrapper getTeamForPlayer(Player player) {
+        return proxying.getTeamForPlayer(player);
+    }
+
+    public TeamWrapper getTeamForEntry(String entry) {
+        return proxying.getTeamForEntry(entry);
+    }
+
+    public boolean equals(Object obj) {
+        // The wrapper compares against this proxy, so compare the underlying Scoreboard here.
+        return obj == this || noproxy.equals(obj);
+    }
+
+    public int hashCode() {
+        return proxying.hashCode();
+    }
+
+    public String toString() {
+        return proxying.toString();
+    }
+
+
     /**
      * Create a new proxy for the Scoreboard underlying the given
      * ScoreboardWrapper. If the given Scoreboard is already a proxy, nothing
      * will be changed, and the existing proxy will be returned.
-     * 
+     *
      * @return A Scoreboard instance that proxies the given ScoreboardWrapper's
      *         Scoreboard.
      */
     protected static Scoreboard newProxy(CraftScoreboardWrapper wrapper, boolean main) {
         Scoreboard scoreboard = wrapper.bypassProxy();
-        
-        if (Proxy.isProxyClass(scoreboard.getClass())) {
-            if (Proxy.getInvocationHandler(scoreboard) instanceof ScoreboardProxy)
-                return scoreboard;
+
+        if (scoreboard instanceof ScoreboardProxy) {
+            return scoreboard;
         }
-        
-        Scoreboard proxy = (Scoreboard) Proxy.newProxyInstance(
-                ScoreboardProxy.class.getClassLoader(),
-                new Class<?>[] { Scoreboard.class, ScoreboardWrapper.class },
-                new ScoreboardProxy(wrapper, scoreboard, main));
+
+        Scoreboard proxy = new ScoreboardProxy(wrapper, scoreboard, main);
         wrapper.setProxy(proxy);
-        
+
         if (main) {
             // Don't do any injection for the server main Scoreboard.
             return proxy;
@@ -204,7 +335,7 @@ public class ScoreboardProxy implements InvocationHandler {
             for (Team team : proxy.getTeams()) {
                 TeamProxy.newProxy(wrapper, team, main);
             }
-            
+
             return proxy;
         }
     }
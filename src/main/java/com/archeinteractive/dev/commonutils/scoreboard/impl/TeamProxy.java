@@ -1,61 +1,239 @@
 package com.archeinteractive.dev.commonutils.scoreboard.impl;
 
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
 import java.util.Map;
+import java.util.Set;
 
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.scoreboard.Scoreboard;
 import org.bukkit.scoreboard.Team;
 
 import com.archeinteractive.dev.commonutils.reflection.CommonReflection;
 import com.archeinteractive.dev.commonutils.reflection.VersionHandler;
+import com.archeinteractive.dev.commonutils.scoreboard.api.wrappers.ObjectiveWrapper;
 import com.archeinteractive.dev.commonutils.scoreboard.api.wrappers.ScoreboardWrapper;
 import com.archeinteractive.dev.commonutils.scoreboard.api.wrappers.TeamWrapper;
 
-public class TeamProxy implements InvocationHandler {
+/**
+ * A Team that delegates to a Bukkit Team. TeamWrapper methods are delegated
+ * to the wrapper of the Team.
+ */
+public class TeamProxy implements Team, TeamWrapper {
 
     private final CraftTeamWrapper proxying;
     private final Team noproxy;
     private CraftTeamWrapper wrapper;
-    
+
     private TeamProxy(CraftTeamWrapper proxying, Team noproxy) {
         this.proxying = proxying;
         this.noproxy = noproxy;
         this.wrapper = null;
     }
-    
+
     private void setTeamWrapper(CraftTeamWrapper wrapper) {
         this.wrapper = wrapper;
     }
-    
+
     public CraftTeamWrapper getTeamWrapper() {
         return wrapper;
     }
-    
+
     public Team getUnproxiedTeam() {
         return noproxy;
     }
-    
-    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-        // This proxy doesn't need to intercept any methods, but its function is still vital.
-        if (method.getDeclaringClass().equals(Team.class)) {
-            try {
-                method.invoke(noproxy, args);
-            } catch (IllegalStateException e) {
-                // Anticipated an unregistered component, if it isn't print stacktrace.
-                if (!e.getMessage().toLowerCase().contains("unregistered")) {
-                    e.printStackTrace();
-                }
-                
-                return null;
-            }
-        }
-        
-        return method.invoke(proxying, args);
+
+    // Bukkit Team delegate methods
+    public void addEntry(String entry) {
+        proxying.addEntry(entry);
+    }
+
+    public void addPlayer(OfflinePlayer player) throws IllegalStateException, IllegalArgumentException {
+        proxying.addPlayer(player);
+    }
+
+    public boolean allowFriendlyFire() throws IllegalStateException {
+        return noproxy.allowFriendlyFire();
+    }
+
+    public boolean canSeeFriendlyInvisibles() throws IllegalStateException {
+        return noproxy.canSeeFriendlyInvisibles();
+    }
+
+    public String getDisplayName() throws IllegalStateException {
+        return noproxy.getDisplayName();
     }
-    
-    
+
+    public Set<String> getEntries() {
+        return noproxy.getEntries();
+    }
+
+    public String getName() throws IllegalStateException {
+        return noproxy.getName();
+    }
+
+    public Set<OfflinePlayer> getPlayers() throws IllegalStateException {
+        return noproxy.getPlayers();
+    }
+
+    public String getPrefix() throws IllegalStateException {
+        return noproxy.getPrefix();
+    }
+
+    public Scoreboard getScoreboard() {
+        return noproxy.getScoreboard();
+    }
+
+    public int getSize() throws IllegalStateException {
+        return noproxy.getSize();
+    }
+
+    public String getSuffix() throws IllegalStateException {
+        return noproxy.getSuffix();
+    }
+
+    public boolean hasEntry(String entry) {
+        return noproxy.hasEntry(entry);
+    }
+
+    public boolean hasPlayer(OfflinePlayer player) throws IllegalArgumentException, IllegalStateException {
+        return noproxy.hasPlayer(player);
+    }
+
+    public boolean removeEntry(String entry) {
+        return proxying.removeEntry(entry);
+    }
+
+    public boolean removePlayer(OfflinePlayer player) throws IllegalStateException, IllegalArgumentException {
+        return proxying.removePlayer(player);
+    }
+
+    public void setAllowFriendlyFire(boolean allow) throws IllegalStateException {
+        noproxy.setAllowFriendlyFire(allow);
+    }
+
+    public void setCanSeeFriendlyInvisibles(boolean can) throws IllegalStateException {
+        noproxy.setCanSeeFriendlyInvisibles(can);
+    }
+
+    public void setDisplayName(String name) throws IllegalStateException, IllegalArgumentException {
+        noproxy.setDisplayName(name);
+    }
+
+    public void setPrefix(String prefix) throws IllegalStateException, IllegalArgumentException {
+        noproxy.setPrefix(prefix);
+    }
+
+    public void setSuffix(String suffix) throws IllegalStateException, IllegalArgumentException {
+        noproxy.setSuffix(suffix);
+    }
+
+    public void unregister() throws IllegalStateException {
+        proxying.unregister();
+    }
+
+    // TeamWrapper delegate methods
+    public Team getTeam() {
+        return proxying.getTeam();
+    }
+
+    public ScoreboardWrapper getWrapper() {
+        return proxying.getWrapper();
+    }
+
+    public boolean isValid() {
+        return proxying.isValid();
+    }
+
+    public void clear() {
+        proxying.clear();
+    }
+
+    public int getOnlineSize() {
+        return proxying.getOnlineSize();
+    }
+
+    public int getTotalScores(ObjectiveWrapper objective) {
+        return proxying.getTotalScores(objective);
+    }
+
+    public int getTotalScores(String objective_name) {
+        return proxying.getTotalScores(objective_name);
+    }
+
+    public TeamWrapper getHigherScoringTeam(TeamWrapper other_team, String objective_name) {
+        return proxying.getHigherScoringTeam(other_team, objective_name);
+    }
+
+    public boolean isHigherScoringThan(TeamWrapper other_team, String objective_name) {
+        return proxying.isHigherScoringThan(other_team, objective_name);
+    }
+
+    public boolean isEqualScoreWith(TeamWrapper other_team, String objective_name) {
+        return proxying.isEqualScoreWith(other_team, objective_name);
+    }
+
+    public void addPlayer(Player player) {
+        proxying.addPlayer(player);
+    }
+
+    public boolean hasPlayer(Player player) {
+        return proxying.hasPlayer(player);
+    }
+
+    public boolean removePlayer(Player player) {
+        return proxying.removePlayer(player);
+    }
+
+    public int getTotalSize() {
+        return proxying.getTotalSize();
+    }
+
+    public void setDoFriendlyFire(boolean set) {
+        proxying.setDoFriendlyFire(set);
+    }
+
+    public void setCanSeeInvisibles(boolean set) {
+        proxying.setCanSeeInvisibles(set);
+    }
+
+    public void setDisplayPrefix(String prefix) {
+        proxying.setDisplayPrefix(prefix);
+    }
+
+    public void setDisplaySuffix(String suffix) {
+        proxying.setDisplaySuffix(suffix);
+    }
+
+    public String getCodeName() {
+        return proxying.getCodeName();
+    }
+
+    public String getDisplay() {
+        return proxying.getDisplay();
+    }
+
+    public void setDisplay(String name) {
+        proxying.setDisplay(name);
+    }
+
+    public void unregisterComponent() {
+        proxying.unregisterComponent();
+    }
+
+    public boolean equals(Object obj) {
+        return proxying.equals(obj);
+    }
+
+    public int hashCode() {
+        return proxying.hashCode();
+    }
+
+    public String toString() {
+        return proxying.toString();
+    }
+
+
     /**
      * Create a new proxy for a Team. If the given team is already a proxy,
      * nothing will be changed, and the existing proxy will be returned.
@@ -63,38 +241,34 @@ public class TeamProxy implements InvocationHandler {
      * In this method, a newly proxied Team will inject itself into the
      * Scoreboard's map of Teams, causing all subsequent references that the
      * Scoreboard gives to be a reference to the proxy.
-     * 
+     *
      * @param team  The Team that should be proxied.
      * @return A Team instance that proxies the given Team instance.
      */
     @SuppressWarnings({ "unchecked", "rawtypes" })
     protected static Team newProxy(ScoreboardWrapper wrapper, Team team, boolean main) {
-        if (Proxy.isProxyClass(team.getClass())) {
+        if (team instanceof TeamProxy) {
             return team;
         }
-        
+
         CraftTeamWrapper team_wrapper = new CraftTeamWrapper(wrapper, team);
-        TeamProxy invocationHandler = new TeamProxy(team_wrapper, team);
-        Team proxy = (Team) Proxy.newProxyInstance(
-                TeamProxy.class.getClassLoader(),
-                new Class<?>[] { Team.class, TeamWrapper.class },
-                invocationHandler);
+        TeamProxy proxy = new TeamProxy(team_wrapper, team);
         team_wrapper.setProxy(proxy);
-        invocationHandler.setTeamWrapper(new CraftTeamWrapper(wrapper, proxy).setProxy(proxy));
-        
+        proxy.setTeamWrapper(new CraftTeamWrapper(wrapper, proxy).setProxy(proxy));
+
         if (main) {
             // Don't inject the proxies into the server main Scoreboard
             return proxy;
         }
-        
+
         Class<?> classCraftScoreboard = VersionHandler.getOBCClass("scoreboard.CraftScoreboard");
         Field fieldTeamsMap = CommonReflection.getField(classCraftScoreboard, "teams");
         fieldTeamsMap.setAccessible(true);
-        
+
         try { // Replaces the Team known to the CraftScoreboard with the proxied Team
             Map teams = (Map) fieldTeamsMap.get(proxy.getScoreboard());
             teams.put(proxy.getName(), proxy);
-            
+
             return proxy;
         } catch (IllegalArgumentException | IllegalAccessException e) {
             e.printStackTrace();
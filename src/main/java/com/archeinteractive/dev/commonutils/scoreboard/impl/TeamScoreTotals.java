@@ -0,0 +1,163 @@
+package com.archeinteractive.dev.commonutils.scoreboard.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+
+/**
+ * The running totals of each Team's scores for each Objective of a
+ * Scoreboard, keyed by the code names of the Team and Objective. A total is
+ * computed once, when it is first asked for, and from then on is adjusted
+ * as scores change and entries join or leave the Team, instead of summing
+ * the scores of every entry again.
+ * <p/>
+ * Only changes made through the ScoreboardAPI are seen, so totals are kept
+ * only for Objectives whose scores the server does not change by itself. The
+ * size of each Team is recorded along with its totals, and the totals are
+ * dropped if the Team is found to have a different size, as its entries were
+ * then changed without going through the API.
+ */
+final class TeamScoreTotals {
+
+    private final Scoreboard board;
+    private final Map<String, Map<String, int[]>> totals;
+    private final Map<String, int[]> sizes;
+
+    /**
+     * @param board The original, unproxied Scoreboard.
+     */
+    TeamScoreTotals(Scoreboard board) {
+        this.board = board;
+        this.totals = new HashMap<>();
+        this.sizes = new HashMap<>();
+    }
+
+    /**
+     * Get the running total of a Team's scores for an Objective.
+     *
+     * @param size The current size of the Team.
+     * @return The total, or <b>null</b> if it is not being kept.
+     */
+    synchronized Integer get(String team, String objective, int size) {
+        int[] recorded = sizes.get(team);
+
+        if (recorded != null && recorded[0] != size) {
+            invalidateTeam(team);
+            return null;
+        }
+
+        Map<String, int[]> objectives = totals.get(team);
+        int[] total = (objectives != null) ? objectives.get(objective) : null;
+        return (total != null) ? total[0] : null;
+    }
+
+    /**
+     * Start keeping the running total of a Team's scores for an Objective.
+     *
+     * @param size The current size of the Team.
+     */
+    synchronized void put(String team, String objective, int total, int size) {
+        sizes.put(team, new int[] { size });
+
+        Map<String, int[]> objectives = totals.get(team);
+
+        if (objectives == null) {
+            objectives = new HashMap<>();
+            totals.put(team, objectives);
+        }
+
+        objectives.put(objective, new int[] { total });
+    }
+
+    /**
+     * Adjust a Team's total after the score of one of its entries changed.
+     */
+    synchronized void scoreChanged(String team, String objective, int delta) {
+        Map<String, int[]> objectives = totals.get(team);
+        int[] total = (objectives != null) ? objectives.get(objective) : null;
+
+        if (total != null)
+            total[0] += delta;
+    }
+
+    /**
+     * Add the scores of an entry that joined a Team to its totals.
+     */
+    synchronized void entryAdded(String team, String entry) {
+        resize(team, 1);
+        adjust(team, entry, 1);
+    }
+
+    /**
+     * Remove the scores of an entry that left a Team from its totals.
+     */
+    synchronized void entryRemoved(String team, String entry) {
+        resize(team, -1);
+        adjust(team, entry, -1);
+    }
+
+    /**
+     * Remove the scores of an entry whose scores are about to be reset from
+     * the totals of its Team.
+     */
+    synchronized void scoresResetting(String team, String entry) {
+        adjust(team, entry, -1);
+    }
+
+    private void resize(String team, int delta) {
+        int[] size = sizes.get(team);
+
+        if (size != null)
+            size[0] += delta;
+    }
+
+    private void adjust(String team, String entry, int sign) {
+        Map<String, int[]> objectives = totals.get(team);
+
+        if (objectives == null)
+            return;
+
+        try {
+            for (Map.Entry<String, int[]> total : objectives.entrySet()) {
+                Objective objective = board.getObjective(total.getKey());
+
+                if (objective == null) {
+                    invalidateTeam(team);
+                    return;
+                }
+
+                total.getValue()[0] += sign * objective.getScore(entry).getScore();
+            }
+        } catch (IllegalStateException e) {
+            // An Objective was unregistered; the totals will be computed again.
+            invalidateTeam(team);
+        }
+    }
+
+    /**
+     * Stop keeping the totals of the Team by the given name.
+     */
+    synchronized void invalidateTeam(String team) {
+        totals.remove(team);
+        sizes.remove(team);
+    }
+
+    /**
+     * Stop keeping any totals for the Objective by the given name.
+     */
+    synchronized void invalidateObjective(String objective) {
+        for (Map<String, int[]> objectives : totals.values()) {
+            objectives.remove(objective);
+        }
+    }
+
+    /**
+     * Stop keeping any totals.
+     */
+    synchronized void invalidate() {
+        totals.clear();
+        sizes.clear();
+    }
+}
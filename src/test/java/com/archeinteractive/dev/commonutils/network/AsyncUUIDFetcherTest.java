@@ -0,0 +1,221 @@
+package com.archeinteractive.dev.commonutils.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Runs an AsyncUUIDFetcher against a local profile endpoint, which knows
+ * every name that doesn't start with "unknown" and answers with the name
+ * capitalised.
+ */
+public class AsyncUUIDFetcherTest {
+
+    private final List<List<String>> requests = new ArrayList<>();
+    private final List<Long> times = new ArrayList<>();
+    private volatile CountDownLatch hold = new CountDownLatch(0);
+    private HttpServer server;
+    private AsyncUUIDFetcher fetcher;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/profiles", this::handle);
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        if (fetcher != null)
+            fetcher.shutdown();
+
+        server.stop(0);
+    }
+
+    @Test
+    public void batchesNamesPerRequest() throws Exception {
+        fetcher = newFetcher(4, 1000, null);
+        List<String> names = names("player", 250);
+
+        Map<String, UUID> found = fetcher.fetch(names).get(5, TimeUnit.SECONDS);
+
+        assertEquals(3, requests().size());
+        assertEquals(250, found.size());
+        assertEquals(uuidOf("player7"), found.get("player7"));
+
+        List<Integer> sizes = new ArrayList<>();
+
+        for (List<String> request : requests()) {
+            sizes.add(request.size());
+        }
+
+        Collections.sort(sizes);
+        assertEquals(Arrays.asList(50, 100, 100), sizes);
+    }
+
+    @Test
+    public void keysResultsByRequestedNames() throws Exception {
+        fetcher = newFetcher(1, 1000, null);
+
+        Map<String, UUID> found = fetcher.fetch(Arrays.asList("alice", "unknown1")).get(5, TimeUnit.SECONDS);
+
+        assertEquals(Collections.singletonMap("alice", uuidOf("alice")), found);
+    }
+
+    @Test
+    public void rateLimitsRequests() throws Exception {
+        fetcher = newFetcher(1, 10, null);
+
+        fetcher.fetch(names("player", 300)).get(5, TimeUnit.SECONDS);
+
+        List<Long> sent = times();
+        assertEquals(3, sent.size());
+        // One request may go at once; each later one waits 100ms for a token
+        assertTrue(sent.get(2) - sent.get(0) >= TimeUnit.MILLISECONDS.toNanos(180));
+    }
+
+    @Test
+    public void sharesPendingLookups() throws Exception {
+        fetcher = newFetcher(2, 1000, null);
+        hold = new CountDownLatch(1);
+
+        CompletableFuture<Map<String, UUID>> first = fetcher.fetch(Arrays.asList("alice", "bob"));
+        CompletableFuture<Map<String, UUID>> second = fetcher.fetch(Arrays.asList("ALICE", "carol", "carol"));
+        hold.countDown();
+
+        assertEquals(uuidOf("alice"), first.get(5, TimeUnit.SECONDS).get("alice"));
+        assertEquals(uuidOf("alice"), second.get(5, TimeUnit.SECONDS).get("ALICE"));
+        assertEquals(uuidOf("carol"), second.get().get("carol"));
+
+        List<String> requested = new ArrayList<>();
+
+        for (List<String> request : requests()) {
+            requested.addAll(request);
+        }
+
+        Collections.sort(requested);
+        assertEquals(Arrays.asList("alice", "bob", "carol"), requested);
+    }
+
+    @Test
+    public void cacheAnswersRepeatedLookups() throws Exception {
+        UUIDCache cache = new UUIDCache(100, TimeUnit.HOURS.toMillis(1), TimeUnit.HOURS.toMillis(1));
+        fetcher = newFetcher(1, 1000, cache);
+
+        fetcher.fetch(Arrays.asList("alice", "unknown1")).get(5, TimeUnit.SECONDS);
+        Map<String, UUID> found = cache.fetch(Arrays.asList("Alice", "unknown1"), fetcher).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, requests().size());
+        assertEquals(Collections.singletonMap("Alice", uuidOf("alice")), found);
+    }
+
+    @Test
+    public void shutdownRejectsLookups() throws Exception {
+        fetcher = newFetcher(1, 1000, null);
+        fetcher.shutdown();
+
+        try {
+            fetcher.fetch("alice").get(5, TimeUnit.SECONDS);
+            fail("A lookup after shutdown should fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+    }
+
+    private AsyncUUIDFetcher newFetcher(int threads, double requestsPerSecond, UUIDCache cache) {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/profiles";
+        return new AsyncUUIDFetcher(url, threads, requestsPerSecond, cache);
+    }
+
+    private synchronized List<List<String>> requests() {
+        return new ArrayList<>(requests);
+    }
+
+    private synchronized List<Long> times() {
+        return new ArrayList<>(times);
+    }
+
+    private static List<String> names(String prefix, int count) {
+        List<String> names = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            names.add(prefix + i);
+        }
+
+        return names;
+    }
+
+    private static UUID uuidOf(String name) {
+        return UUID.nameUUIDFromBytes(name.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        List<String> names = new ArrayList<>();
+        JsonReader reader = new JsonReader(new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8));
+        reader.beginArray();
+
+        while (reader.hasNext()) {
+            names.add(reader.nextString());
+        }
+
+        reader.close();
+
+        synchronized (this) {
+            requests.add(names);
+            times.add(System.nanoTime());
+        }
+
+        try {
+            hold.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream body = exchange.getResponseBody();
+        JsonWriter writer = new JsonWriter(new OutputStreamWriter(body, StandardCharsets.UTF_8));
+        writer.beginArray();
+
+        for (String name : names) {
+            if (name.startsWith("unknown"))
+                continue;
+
+            writer.beginObject();
+            writer.name("id").value(uuidOf(name).toString().replace("-", ""));
+            writer.name("name").value(name.substring(0, 1).toUpperCase(Locale.ROOT) + name.substring(1));
+            writer.endObject();
+        }
+
+        writer.endArray();
+        writer.close();
+    }
+}
@@ -0,0 +1,124 @@
+package com.archeinteractive.dev.commonutils.scoreboard.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.List;
+
+import org.bukkit.Bukkit;
+import org.bukkit.craftbukkit.vtest.scoreboard.CraftScoreboard;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.archeinteractive.dev.commonutils.scoreboard.api.events.ScoreboardTeamScoreChangeEvent;
+import com.archeinteractive.dev.commonutils.scoreboard.api.wrappers.ScoreboardWrapper;
+import com.archeinteractive.dev.commonutils.scoreboard.api.wrappers.TeamWrapper;
+
+/**
+ * Checks the index of each entry's Team that backs getTeamForEntry: hits,
+ * misses, updates through the TeamWrappers, and the scan it falls back to
+ * when a Team was changed behind its back.
+ */
+public class EntryTeamIndexTest {
+
+    private ScoreboardWrapper wrapper;
+    private CraftScoreboardWrapper craft;
+    private CraftScoreboard original;
+    private TeamWrapper red;
+
+    @Before
+    public void setUp() {
+        FakeBukkit.reset();
+        wrapper = FakeBukkit.newScoreboardWrapper();
+        craft = CraftScoreboardWrapper.getCraftWrapper(wrapper);
+        original = FakeBukkit.getCraftScoreboard(wrapper);
+        red = wrapper.registerTeam("red");
+        red.addEntry("alice");
+    }
+
+    @Test
+    public void indexIsBuiltFromExistingTeams() {
+        ScoreboardWrapper fresh = FakeBukkit.newScoreboardWrapper();
+        FakeBukkit.getCraftScoreboard(fresh).registerNewTeam("green").addEntry("bob");
+
+        assertEquals("green", CraftScoreboardWrapper.getCraftWrapper(fresh).getTeamNameForEntry("bob"));
+        assertEquals("green", fresh.getTeamForEntry("bob").getCodeName());
+    }
+
+    @Test
+    public void hitReturnsTeamOfEntry() {
+        assertEquals("red", wrapper.getTeamForEntry("alice").getCodeName());
+        assertEquals("red", craft.getTeamNameForEntry("alice"));
+    }
+
+    @Test
+    public void missReturnsNull() {
+        assertNull(wrapper.getTeamForEntry("nobody"));
+        assertNull(craft.getTeamNameForEntry("nobody"));
+    }
+
+    @Test
+    public void teamWrappersUpdateIndex() {
+        TeamWrapper blue = wrapper.registerTeam("blue");
+        wrapper.getTeamForEntry("alice");
+
+        blue.addEntry("alice");
+        assertEquals("blue", craft.getTeamNameForEntry("alice"));
+
+        blue.removeEntry("alice");
+        assertNull(craft.getTeamNameForEntry("alice"));
+
+        red.addEntry("alice");
+        red.clear();
+        assertNull(craft.getTeamNameForEntry("alice"));
+
+        red.addEntry("alice");
+        red.unregisterComponent();
+        assertNull(wrapper.getTeamForEntry("alice"));
+    }
+
+    @Test
+    public void staleHitFallsBackToScan() {
+        wrapper.registerTeam("blue");
+        assertEquals("red", wrapper.getTeamForEntry("alice").getCodeName());
+
+        original.getRawTeam("blue").addEntry("alice");
+        assertEquals("red", craft.getTeamNameForEntry("alice"));
+
+        assertEquals("blue", wrapper.getTeamForEntry("alice").getCodeName());
+        assertEquals("blue", craft.getTeamNameForEntry("alice"));
+    }
+
+    @Test
+    public void missFallsBackToScan() {
+        wrapper.getTeamForEntry("alice");
+        original.getRawTeam("red").addEntry("bob");
+        assertNull(craft.getTeamNameForEntry("bob"));
+
+        assertEquals("red", wrapper.getTeamForEntry("bob").getCodeName());
+        assertEquals("red", craft.getTeamNameForEntry("bob"));
+    }
+
+    @Test
+    public void rawTeamEntryScoresReachTeamEvent() {
+        wrapper.getTeamForEntry("alice");
+        original.getRawTeam("red").addEntry("bob");
+        wrapper.getScoreboard().registerNewObjective("kills", "dummy").getScore("bob").setScore(3);
+
+        List<ScoreboardTeamScoreChangeEvent> events = FakeBukkit.getEvents(ScoreboardTeamScoreChangeEvent.class);
+        assertEquals(1, events.size());
+        assertEquals("red", events.get(0).getTeam().getCodeName());
+        assertEquals(3, events.get(0).getNewScore());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void mainScoreboardIsNotIndexed() {
+        ScoreboardWrapper main = CraftScoreboardWrapper.getServerMainScoreboardWrapper();
+        main.registerTeam("index-main");
+        main.getTeamForEntry("erin");
+
+        Bukkit.getScoreboardManager().getMainScoreboard().getTeam("index-main").addEntry("erin");
+        assertEquals("index-main", main.getTeamForEntry("erin").getCodeName());
+    }
+}
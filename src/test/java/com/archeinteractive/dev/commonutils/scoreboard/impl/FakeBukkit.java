@@ -0,0 +1,156 @@
+package com.archeinteractive.dev.commonutils.scoreboard.impl;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.craftbukkit.vtest.FakeServer;
+import org.bukkit.craftbukkit.vtest.scoreboard.CraftScoreboard;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.scoreboard.ScoreboardManager;
+
+import com.archeinteractive.dev.commonutils.scoreboard.api.wrappers.ScoreboardWrapper;
+
+/**
+ * A fake Bukkit server for the scoreboard tests. It hands out in-memory
+ * {@link CraftScoreboard}s and records the events that are called.
+ * <p/>
+ * Bukkit only accepts one Server per JVM, so the server is shared by every
+ * test; call {@link #reset()} before each one.
+ */
+final class FakeBukkit {
+
+    private static final List<Event> events = new ArrayList<>();
+    private static final CraftScoreboard main = new CraftScoreboard();
+    private static boolean cancelling = false;
+    private static int boards = 0;
+
+    private static final Logger logger = Logger.getLogger("FakeBukkit");
+    private static final PluginManager plugins = (PluginManager) Proxy.newProxyInstance(
+            FakeBukkit.class.getClassLoader(), new Class<?>[] { PluginManager.class }, (proxy, method, args) -> {
+                if (method.getName().equals("callEvent")) {
+                    callEvent((Event) args[0]);
+                    return null;
+                }
+
+                return unsupported(proxy, method, args);
+            });
+    private static final ScoreboardManager scoreboards = (ScoreboardManager) Proxy.newProxyInstance(
+            FakeBukkit.class.getClassLoader(), new Class<?>[] { ScoreboardManager.class }, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getMainScoreboard":
+                        return main;
+                    case "getNewScoreboard":
+                        return new CraftScoreboard();
+                    default:
+                        return unsupported(proxy, method, args);
+                }
+            });
+
+    static {
+        if (Bukkit.getServer() == null)
+            Bukkit.setServer(FakeServer.create(FakeBukkit::server));
+    }
+
+    private FakeBukkit() {}
+
+    /**
+     * Clear the events called so far, and stop cancelling events.
+     */
+    static synchronized void reset() {
+        events.clear();
+        cancelling = false;
+    }
+
+    /**
+     * Register a ScoreboardWrapper for a new custom Scoreboard, under a
+     * label no other test uses.
+     */
+    static synchronized ScoreboardWrapper newScoreboardWrapper() {
+        return CraftScoreboardWrapper.getCustomScoreboardWrapper("test-" + (++boards));
+    }
+
+    /**
+     * Get the fake Scoreboard behind the given wrapper.
+     */
+    static CraftScoreboard getCraftScoreboard(ScoreboardWrapper wrapper) {
+        return (CraftScoreboard) ((ScoreboardProxy) wrapper).getUnproxiedScoreboard();
+    }
+
+    /**
+     * Set whether every Cancellable event called from now on is cancelled.
+     */
+    static synchronized void setCancelling(boolean cancel) {
+        cancelling = cancel;
+    }
+
+    /**
+     * Get the events called so far of the given type, in the order they
+     * were called.
+     */
+    static synchronized <T extends Event> List<T> getEvents(Class<T> type) {
+        List<T> called = new ArrayList<>();
+
+        for (Event event : events) {
+            if (type.isInstance(event))
+                called.add(type.cast(event));
+        }
+
+        return called;
+    }
+
+    static OfflinePlayer offlinePlayer(String name) {
+        return (OfflinePlayer) Proxy.newProxyInstance(FakeBukkit.class.getClassLoader(),
+                new Class<?>[] { OfflinePlayer.class }, (proxy, method, args) -> {
+                    if (method.getName().equals("getName"))
+                        return name;
+
+                    return unsupported(proxy, method, args);
+                });
+    }
+
+    private static synchronized void callEvent(Event event) {
+        if (cancelling && event instanceof Cancellable)
+            ((Cancellable) event).setCancelled(true);
+
+        events.add(event);
+    }
+
+    private static Object server(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "getLogger":
+                return logger;
+            case "getName":
+            case "getVersion":
+            case "getBukkitVersion":
+                return "FakeBukkit";
+            case "getPluginManager":
+                return plugins;
+            case "getScoreboardManager":
+                return scoreboards;
+            case "getPlayerExact":
+                return null;
+            default:
+                return unsupported(proxy, method, args);
+        }
+    }
+
+    private static Object unsupported(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "FakeBukkit";
+            default:
+                throw new UnsupportedOperationException(method.toString());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.archeinteractive.dev.commonutils.scoreboard.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.bukkit.craftbukkit.vtest.scoreboard.CraftScoreboard;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Score;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.archeinteractive.dev.commonutils.scoreboard.api.events.ScoreboardScoreChangeEvent;
+import com.archeinteractive.dev.commonutils.scoreboard.api.wrappers.ObjectiveWrapper;
+import com.archeinteractive.dev.commonutils.scoreboard.api.wrappers.ScoreboardWrapper;
+
+/**
+ * Checks that an ObjectiveProxy hands out one ScoreProxy per entry, and
+ * forgets them when its Objective is unregistered.
+ */
+public class ObjectiveProxyTest {
+
+    private ScoreboardWrapper wrapper;
+    private CraftScoreboard original;
+
+    @Before
+    public void setUp() {
+        FakeBukkit.reset();
+        wrapper = FakeBukkit.newScoreboardWrapper();
+        original = FakeBukkit.getCraftScoreboard(wrapper);
+    }
+
+    @Test
+    public void getScoreReusesProxyPerEntry() {
+        Objective objective = wrapper.getScoreboard().registerNewObjective("kills", "dummy");
+        Score alice = objective.getScore("alice");
+
+        assertSame(alice, objective.getScore("alice"));
+        assertNotSame(alice, objective.getScore("bob"));
+        assertEquals("bob", objective.getScore("bob").getEntry());
+    }
+
+    @Test
+    public void reusedProxyReadsCurrentScore() {
+        Objective objective = wrapper.getScoreboard().registerNewObjective("kills", "dummy");
+        Score alice = objective.getScore("alice");
+        original.getRawObjective("kills").getScore("alice").setScore(7);
+
+        assertEquals(7, alice.getScore());
+
+        alice.setScore(8);
+        assertEquals(7, FakeBukkit.getEvents(ScoreboardScoreChangeEvent.class).get(0).getOldScore());
+        assertEquals(8, original.getRawObjective("kills").getScore("alice").getScore());
+    }
+
+    @Test
+    public void wrapperScoreUpdatesReuseProxy() {
+        ObjectiveWrapper kills = wrapper.registerObjective("kills");
+        Objective objective = original.getObjective("kills");
+        Score alice = objective.getScore("alice");
+
+        kills.setScoreFor("alice", 4);
+        kills.incrementScore("alice");
+
+        assertSame(alice, objective.getScore("alice"));
+        assertEquals(5, alice.getScore());
+    }
+
+    @Test
+    public void unregisterForgetsScores() {
+        Objective objective = wrapper.getScoreboard().registerNewObjective("kills", "dummy");
+        objective.getScore("alice");
+        objective.unregister();
+
+        try {
+            objective.getScore("alice");
+            fail("An unregistered Objective should not hand out Scores");
+        } catch (IllegalStateException expected) {
+        }
+
+        Objective registered = wrapper.getScoreboard().registerNewObjective("kills", "dummy");
+        assertTrue(registered instanceof ObjectiveProxy);
+        assertNotSame(objective, registered);
+    }
+}
@@ -0,0 +1,188 @@
+package com.archeinteractive.dev.commonutils.scoreboard.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.bukkit.craftbukkit.vtest.scoreboard.CraftScoreboard;
+import org.bukkit.scoreboard.Objective;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.archeinteractive.dev.commonutils.scoreboard.api.wrappers.ObjectiveWrapper;
+import com.archeinteractive.dev.commonutils.scoreboard.api.wrappers.ScoreboardWrapper;
+
+/**
+ * Checks ranks, top entries and score ranges of a ScoreRanking, both on its
+ * own and as kept by an ObjectiveWrapper while scores change.
+ */
+public class ScoreRankingTest {
+
+    private ScoreRanking ranking;
+
+    @Before
+    public void setUp() {
+        FakeBukkit.reset();
+        ranking = new ScoreRanking();
+    }
+
+    @Test
+    public void emptyRanking() {
+        assertNull(ranking.getHighest());
+        assertEquals(Collections.emptyList(), ranking.getTop(3));
+        assertEquals(-1, ranking.getRank("alice"));
+        assertEquals(Collections.emptyList(), ranking.getRange(0, 10));
+    }
+
+    @Test
+    public void ranksHighestFirstWithTiesByName() {
+        ranking.set("carol", 5);
+        ranking.set("alice", 7);
+        ranking.set("bob", 5);
+        ranking.set("dave", 1);
+
+        assertEquals(Integer.valueOf(7), ranking.getHighest());
+        assertEquals(Arrays.asList("alice", "bob", "carol"), ranking.getTop(3));
+        assertEquals(Arrays.asList("alice", "bob", "carol", "dave"), ranking.getTop(10));
+        assertEquals(1, ranking.getRank("alice"));
+        assertEquals(2, ranking.getRank("bob"));
+        assertEquals(2, ranking.getRank("carol"));
+        assertEquals(4, ranking.getRank("dave"));
+        assertEquals(Arrays.asList("bob", "carol", "dave"), ranking.getRange(1, 5));
+    }
+
+    @Test
+    public void scoreChangesMoveEntries() {
+        ranking.set("alice", 7);
+        ranking.set("bob", 5);
+        ranking.set("carol", 3);
+
+        ranking.set("carol", 9);
+        assertEquals(Arrays.asList("carol", "alice"), ranking.getTop(2));
+        assertEquals(3, ranking.getRank("bob"));
+
+        ranking.set("carol", 9);
+        ranking.remove("alice");
+        assertEquals(-1, ranking.getRank("alice"));
+        assertEquals(2, ranking.getRank("bob"));
+        assertEquals(Arrays.asList("bob"), ranking.getRange(4, 8));
+    }
+
+    @Test
+    public void matchesSortedScoresAfterRandomChanges() {
+        Random random = new Random(25);
+        Map<String, Integer> scores = new HashMap<>();
+
+        for (int i = 0; i < 2000; i++) {
+            String entry = "entry" + random.nextInt(200);
+
+            if (random.nextInt(5) == 0) {
+                scores.remove(entry);
+                ranking.remove(entry);
+            } else {
+                int score = random.nextInt(50);
+                scores.put(entry, score);
+                ranking.set(entry, score);
+            }
+        }
+
+        List<String> sorted = new ArrayList<>(scores.keySet());
+        sorted.sort((a, b) -> (scores.get(a).equals(scores.get(b)))
+                ? a.compareTo(b) : Integer.compare(scores.get(b), scores.get(a)));
+
+        assertEquals(sorted, ranking.getTop(sorted.size()));
+        assertEquals(sorted.subList(0, 10), ranking.getTop(10));
+
+        for (String entry : sorted) {
+            int higher = 0;
+
+            for (int score : scores.values()) {
+                if (score > scores.get(entry))
+                    higher++;
+            }
+
+            assertEquals(higher + 1, ranking.getRank(entry));
+        }
+
+        List<String> range = new ArrayList<>();
+
+        for (String entry : sorted) {
+            if (scores.get(entry) >= 10 && scores.get(entry) <= 20)
+                range.add(entry);
+        }
+
+        assertEquals(range, ranking.getRange(10, 20));
+    }
+
+    @Test
+    public void objectiveWrapperFollowsScoreChanges() {
+        ScoreboardWrapper wrapper = FakeBukkit.newScoreboardWrapper();
+        ObjectiveWrapper kills = wrapper.registerObjective("kills");
+        kills.setScoreFor("alice", 3);
+        kills.setScoreFor("bob", 6);
+
+        assertEquals(Arrays.asList("bob", "alice"), kills.getTopN(5));
+
+        kills.setScoreFor("carol", 4);
+        kills.getObjective().getScore("alice").setScore(8);
+        kills.incrementScore("bob");
+
+        assertEquals(Arrays.asList("alice", "bob", "carol"), kills.getTopN(5));
+        assertEquals(2, kills.getRank("bob"));
+        assertEquals(Arrays.asList("bob", "carol"), kills.getEntriesInRange(4, 7));
+        assertEquals(Collections.singleton("alice"), kills.getHighestScore());
+
+        wrapper.getScoreboard().resetScores("alice");
+
+        assertEquals(-1, kills.getRank("alice"));
+        assertEquals(Arrays.asList("bob", "carol"), kills.getTopN(5));
+        assertEquals(Collections.singleton("bob"), kills.getHighestScore());
+    }
+
+    @Test
+    public void objectiveWrapperRanksScoresSetBeforeFirstQuery() {
+        ScoreboardWrapper wrapper = FakeBukkit.newScoreboardWrapper();
+        ObjectiveWrapper kills = wrapper.registerObjective("kills");
+        FakeBukkit.getCraftScoreboard(wrapper).getRawObjective("kills").getScore("alice").setScore(2);
+        FakeBukkit.getCraftScoreboard(wrapper).getRawObjective("kills").getScore("bob").setScore(2);
+
+        assertEquals(Arrays.asList("alice", "bob"), kills.getTopN(2));
+        assertEquals(1, kills.getRank("bob"));
+    }
+
+    @Test
+    public void objectiveWrapperOfForeignScoreboardWrapperRanksEachQuery() {
+        CraftScoreboard board = new CraftScoreboard();
+        Objective objective = board.registerNewObjective("kills", "dummy");
+        ScoreboardWrapper foreign = (ScoreboardWrapper) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { ScoreboardWrapper.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getScoreboard":
+                            return board;
+                        case "getEntrySet":
+                            return board.getEntries();
+                        default:
+                            throw new UnsupportedOperationException(method.toString());
+                    }
+                });
+        ObjectiveWrapper kills = new CraftObjectiveWrapper(foreign, objective);
+        objective.getScore("alice").setScore(4);
+        objective.getScore("bob").setScore(9);
+
+        assertEquals(Arrays.asList("bob", "alice"), kills.getTopN(5));
+        assertEquals(2, kills.getRank("alice"));
+        assertEquals(Arrays.asList("alice"), kills.getEntriesInRange(0, 5));
+        assertEquals(Collections.singleton("bob"), kills.getHighestScore());
+
+        objective.getScore("alice").setScore(12);
+        assertEquals(1, kills.getRank("alice"));
+    }
+}
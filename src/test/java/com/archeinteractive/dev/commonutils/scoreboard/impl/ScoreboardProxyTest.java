@@ -0,0 +1,166 @@
+package com.archeinteractive.dev.commonutils.scoreboard.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.bukkit.craftbukkit.vtest.scoreboard.CraftScoreboard;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Score;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.archeinteractive.dev.commonutils.scoreboard.api.events.ScoreboardScoreChangeEvent;
+import com.archeinteractive.dev.commonutils.scoreboard.api.events.ScoreboardTeamScoreChangeEvent;
+import com.archeinteractive.dev.commonutils.scoreboard.api.wrappers.ScoreboardWrapper;
+import com.archeinteractive.dev.commonutils.scoreboard.api.wrappers.TeamWrapper;
+
+/**
+ * Checks that the delegating Scoreboard, Objective, Score and Team classes
+ * of a custom Scoreboard intercept what they should and pass everything
+ * else through.
+ */
+public class ScoreboardProxyTest {
+
+    private ScoreboardWrapper wrapper;
+    private CraftScoreboard original;
+    private Scoreboard board;
+
+    @Before
+    public void setUp() {
+        FakeBukkit.reset();
+        wrapper = FakeBukkit.newScoreboardWrapper();
+        original = FakeBukkit.getCraftScoreboard(wrapper);
+        board = wrapper.getScoreboard();
+    }
+
+    @Test
+    public void registerNewObjectiveInjectsProxy() {
+        Objective objective = board.registerNewObjective("kills", "dummy");
+
+        assertTrue(objective instanceof ObjectiveProxy);
+        assertSame(original.getRawObjective("kills"), ((ObjectiveProxy) objective).getUnproxiedObjective());
+        assertSame(objective, original.getObjective("kills"));
+        assertEquals("kills", objective.getName());
+        assertEquals("dummy", objective.getCriteria());
+    }
+
+    @Test
+    public void registerNewObjectiveProxiesExistingObjective() {
+        Objective registered = original.registerNewObjective("deaths", "dummy");
+        Objective objective = board.registerNewObjective("deaths", "dummy");
+
+        assertTrue(objective instanceof ObjectiveProxy);
+        assertSame(registered, ((ObjectiveProxy) objective).getUnproxiedObjective());
+    }
+
+    @Test
+    public void getScoreReturnsScoreProxy() {
+        Objective objective = board.registerNewObjective("kills", "dummy");
+        Score score = objective.getScore("alice");
+
+        assertTrue(score instanceof ScoreProxy);
+        assertEquals("alice", score.getEntry());
+        assertEquals(0, score.getScore());
+    }
+
+    @Test
+    public void setScoreCallsScoreChangeEvent() {
+        Objective objective = board.registerNewObjective("kills", "dummy");
+        objective.getScore("alice").setScore(5);
+
+        List<ScoreboardScoreChangeEvent> events = FakeBukkit.getEvents(ScoreboardScoreChangeEvent.class);
+        assertEquals(1, events.size());
+        assertEquals("alice", events.get(0).getEntryName());
+        assertEquals(0, events.get(0).getOldScore());
+        assertEquals(5, events.get(0).getNewScore());
+        assertEquals("kills", events.get(0).getObjective().getCodeName());
+
+        assertTrue(FakeBukkit.getEvents(ScoreboardTeamScoreChangeEvent.class).isEmpty());
+        assertEquals(5, original.getRawObjective("kills").getScore("alice").getScore());
+    }
+
+    @Test
+    public void setScoreCallsTeamScoreChangeEvent() {
+        Objective objective = board.registerNewObjective("kills", "dummy");
+        TeamWrapper team = wrapper.registerTeam("red");
+        team.addEntry("alice");
+        team.addEntry("bob");
+        objective.getScore("alice").setScore(3);
+        objective.getScore("bob").setScore(4);
+
+        List<ScoreboardTeamScoreChangeEvent> events = FakeBukkit.getEvents(ScoreboardTeamScoreChangeEvent.class);
+        assertEquals(2, events.size());
+        assertEquals("red", events.get(1).getTeam().getCodeName());
+        assertEquals("bob", events.get(1).getEntryName());
+        assertEquals(3, events.get(1).getOldScore());
+        assertEquals(7, events.get(1).getNewScore());
+    }
+
+    @Test
+    public void cancelledScoreChangeKeepsScore() {
+        Objective objective = board.registerNewObjective("kills", "dummy");
+        objective.getScore("alice").setScore(2);
+        FakeBukkit.setCancelling(true);
+        objective.getScore("alice").setScore(9);
+
+        assertEquals(2, original.getRawObjective("kills").getScore("alice").getScore());
+    }
+
+    @Test
+    public void getPlayerTeamFindsTeamOfEntry() {
+        Team team = board.registerNewTeam("blue");
+        team.addEntry("carol");
+
+        Team found = board.getPlayerTeam(FakeBukkit.offlinePlayer("carol"));
+        assertTrue(found instanceof TeamProxy);
+        assertSame(original.getRawTeam("blue"), ((TeamProxy) found).getUnproxiedTeam());
+
+        assertNull(board.getPlayerTeam(FakeBukkit.offlinePlayer("dave")));
+        assertNull(board.getPlayerTeam(null));
+    }
+
+    @Test
+    public void getObjectivesByCriteriaReturnsProxies() {
+        board.registerNewObjective("kills", "dummy");
+        board.registerNewObjective("health", "health");
+
+        Set<Objective> objectives = board.getObjectivesByCriteria("dummy");
+        assertEquals(1, objectives.size());
+
+        Objective objective = objectives.iterator().next();
+        assertTrue(objective instanceof ObjectiveProxy);
+        assertEquals("kills", objective.getName());
+    }
+
+    @Test
+    public void teamProxyDelegatesToTeam() {
+        Team team = board.registerNewTeam("green");
+        team.addEntry("erin");
+
+        TeamWrapper found = wrapper.getTeamForEntry("erin");
+        assertTrue(found instanceof TeamProxy);
+        assertSame(found, original.getTeam("green"));
+
+        Team proxy = (Team) found;
+        proxy.addEntry("frank");
+        assertTrue(team.hasEntry("frank"));
+        assertEquals(2, proxy.getSize());
+
+        proxy.setPrefix("[G]");
+        assertEquals("[G]", team.getPrefix());
+        assertEquals("[G]", proxy.getPrefix());
+
+        assertTrue(proxy.removeEntry("frank"));
+        assertFalse(proxy.removeEntry("frank"));
+        assertFalse(team.hasEntry("frank"));
+        assertEquals("green", found.getCodeName());
+    }
+}
@@ -0,0 +1,140 @@
+package com.archeinteractive.dev.commonutils.scoreboard.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.archeinteractive.dev.commonutils.scoreboard.api.wrappers.ObjectiveWrapper;
+import com.archeinteractive.dev.commonutils.scoreboard.api.wrappers.ScoreboardWrapper;
+import com.archeinteractive.dev.commonutils.scoreboard.api.wrappers.TeamWrapper;
+
+/**
+ * Checks that the running Team score totals follow score and membership
+ * changes, and are dropped when a Team is cleared.
+ */
+public class TeamScoreTotalsTest {
+
+    private ScoreboardWrapper wrapper;
+    private TeamScoreTotals totals;
+    private ObjectiveWrapper kills;
+    private TeamWrapper red;
+
+    @Before
+    public void setUp() {
+        FakeBukkit.reset();
+        wrapper = FakeBukkit.newScoreboardWrapper();
+        totals = CraftScoreboardWrapper.getTeamScoreTotals(wrapper);
+        kills = wrapper.registerObjective("kills");
+        red = wrapper.registerTeam("red");
+
+        kills.setScoreFor("alice", 3);
+        kills.setScoreFor("bob", 4);
+        kills.setScoreFor("carol", 5);
+        red.addEntry("alice");
+        red.addEntry("bob");
+    }
+
+    private Integer kept(TeamWrapper team, String objective) {
+        return totals.get(team.getCodeName(), objective, team.getTeam().getSize());
+    }
+
+    @Test
+    public void totalIsKeptAfterFirstUse() {
+        assertNull(kept(red, "kills"));
+        assertEquals(7, red.getTotalScores(kills));
+        assertEquals(Integer.valueOf(7), kept(red, "kills"));
+    }
+
+    @Test
+    public void scoreChangesAdjustTotal() {
+        red.getTotalScores(kills);
+        kills.setScoreFor("alice", 10);
+        assertEquals(Integer.valueOf(14), kept(red, "kills"));
+
+        kills.getObjective().getScore("bob").setScore(1);
+        assertEquals(Integer.valueOf(11), kept(red, "kills"));
+
+        kills.incrementScore("carol");
+        assertEquals(11, red.getTotalScores(kills));
+    }
+
+    @Test
+    public void addingAndRemovingEntriesAdjustsTotal() {
+        red.getTotalScores(kills);
+        red.addEntry("carol");
+        assertEquals(Integer.valueOf(12), kept(red, "kills"));
+
+        red.removeEntry("alice");
+        assertEquals(Integer.valueOf(9), kept(red, "kills"));
+        assertEquals(9, red.getTotalScores(kills));
+    }
+
+    @Test
+    public void changingTeamMovesScores() {
+        TeamWrapper blue = wrapper.registerTeam("blue");
+        blue.addEntry("carol");
+        red.getTotalScores(kills);
+        blue.getTotalScores(kills);
+
+        blue.addEntry("alice");
+        assertEquals(Integer.valueOf(4), kept(red, "kills"));
+        assertEquals(Integer.valueOf(8), kept(blue, "kills"));
+    }
+
+    @Test
+    public void resetScoresRemovesEntryScores() {
+        red.getTotalScores(kills);
+        wrapper.getScoreboard().resetScores("alice");
+
+        assertEquals(Integer.valueOf(4), kept(red, "kills"));
+    }
+
+    @Test
+    public void clearDropsTotals() {
+        red.getTotalScores(kills);
+        red.clear();
+
+        assertNull(kept(red, "kills"));
+        assertEquals(0, red.getTotalScores(kills));
+
+        red.addEntry("carol");
+        assertEquals(5, red.getTotalScores(kills));
+
+        wrapper.clearEntries();
+        assertNull(kept(red, "kills"));
+        assertEquals(0, red.getTotalScores(kills));
+    }
+
+    @Test
+    public void rawTeamChangeDropsTotals() {
+        red.getTotalScores(kills);
+        FakeBukkit.getCraftScoreboard(wrapper).getRawTeam("red").addEntry("carol");
+
+        assertNull(kept(red, "kills"));
+        assertEquals(12, red.getTotalScores(kills));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void mainScoreboardKeepsNoTotals() {
+        ScoreboardWrapper main = CraftScoreboardWrapper.getServerMainScoreboardWrapper();
+        ObjectiveWrapper points = main.registerObjective("totals-main");
+        TeamWrapper team = main.registerTeam("totals-main");
+        points.setScoreFor("erin", 2);
+        team.addEntry("erin");
+
+        assertNull(CraftScoreboardWrapper.getTeamScoreTotals(main));
+        assertEquals(2, team.getTotalScores(points));
+    }
+
+    @Test
+    public void readOnlyCriteriaAreNotKept() {
+        wrapper.getScoreboard().registerNewObjective("health", "health");
+        ObjectiveWrapper health = wrapper.getObjectiveByName("health");
+
+        assertEquals(0, red.getTotalScores(health));
+        assertNull(kept(red, "health"));
+    }
+}
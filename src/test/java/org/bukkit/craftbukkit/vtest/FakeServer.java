@@ -0,0 +1,24 @@
+package org.bukkit.craftbukkit.vtest;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+
+/**
+ * Creates fake Servers whose class is defined in this package. The version
+ * of the server is read from the package of its class, so CraftBukkit
+ * classes are looked up under org.bukkit.craftbukkit.vtest, where the test
+ * sources provide the few that the scoreboard classes reflect on.
+ */
+public final class FakeServer {
+
+    // Not public, so that its proxy class is defined in this package
+    interface Server extends org.bukkit.Server {
+    }
+
+    private FakeServer() {}
+
+    public static org.bukkit.Server create(InvocationHandler handler) {
+        return (org.bukkit.Server) Proxy.newProxyInstance(FakeServer.class.getClassLoader(),
+                new Class<?>[] { Server.class }, handler);
+    }
+}
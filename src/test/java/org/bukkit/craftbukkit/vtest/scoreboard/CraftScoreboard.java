@@ -0,0 +1,364 @@
+package org.bukkit.craftbukkit.vtest.scoreboard;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.bukkit.OfflinePlayer;
+import org.bukkit.scoreboard.DisplaySlot;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Score;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+
+/**
+ * An in-memory Scoreboard standing in for the CraftBukkit one. Like the
+ * real class, it keeps its Objectives and Teams in the maps named
+ * objectives and teams, which the scoreboard proxies replace their
+ * originals in. The Objectives, Teams and Scores it hands out are
+ * java.lang.reflect.Proxy instances that answer the methods the scoreboard
+ * classes call, and throw an UnsupportedOperationException for any other.
+ */
+public class CraftScoreboard implements Scoreboard {
+
+    private final Map<String, Objective> objectives = new LinkedHashMap<>();
+    private final Map<String, Team> teams = new LinkedHashMap<>();
+    private final Map<String, FakeObjective> objective_states = new LinkedHashMap<>();
+    private final Map<String, FakeTeam> team_states = new LinkedHashMap<>();
+    private final Map<DisplaySlot, String> slots = new EnumMap<>(DisplaySlot.class);
+
+    /**
+     * Get the Objective by the given name as this Scoreboard created it,
+     * bypassing any proxy that replaced it.
+     */
+    public Objective getRawObjective(String name) {
+        FakeObjective objective = objective_states.get(name);
+        return (objective != null) ? objective.proxy : null;
+    }
+
+    /**
+     * Get the Team by the given name as this Scoreboard created it, bypassing
+     * any proxy that replaced it.
+     */
+    public Team getRawTeam(String name) {
+        FakeTeam team = team_states.get(name);
+        return (team != null) ? team.proxy : null;
+    }
+
+    public Objective registerNewObjective(String name, String criteria) throws IllegalArgumentException {
+        if (objectives.containsKey(name))
+            throw new IllegalArgumentException("An objective of name '" + name + "' already exists");
+
+        FakeObjective objective = new FakeObjective(name, criteria);
+        objective_states.put(name, objective);
+        objectives.put(name, objective.proxy);
+        return objective.proxy;
+    }
+
+    public Objective getObjective(String name) throws IllegalArgumentException {
+        return objectives.get(name);
+    }
+
+    public Objective getObjective(DisplaySlot slot) throws IllegalArgumentException {
+        String name = slots.get(slot);
+        return (name != null) ? objectives.get(name) : null;
+    }
+
+    public Set<Objective> getObjectivesByCriteria(String criteria) throws IllegalArgumentException {
+        Set<Objective> found = new HashSet<>();
+
+        for (Map.Entry<String, FakeObjective> objective : objective_states.entrySet()) {
+            if (objective.getValue().criteria.equals(criteria))
+                found.add(objectives.get(objective.getKey()));
+        }
+
+        return found;
+    }
+
+    public Set<Objective> getObjectives() {
+        return new HashSet<>(objectives.values());
+    }
+
+    @Deprecated
+    public Set<Score> getScores(OfflinePlayer player) throws IllegalArgumentException {
+        return getScores(player.getName());
+    }
+
+    public Set<Score> getScores(String entry) throws IllegalArgumentException {
+        Set<Score> scores = new HashSet<>();
+
+        for (FakeObjective objective : objective_states.values()) {
+            if (objective.scores.containsKey(entry))
+                scores.add(new FakeScore(objective, entry).proxy);
+        }
+
+        return scores;
+    }
+
+    @Deprecated
+    public void resetScores(OfflinePlayer player) throws IllegalArgumentException {
+        resetScores(player.getName());
+    }
+
+    public void resetScores(String entry) throws IllegalArgumentException {
+        for (FakeObjective objective : objective_states.values()) {
+            objective.scores.remove(entry);
+        }
+    }
+
+    public Team getPlayerTeam(OfflinePlayer player) throws IllegalArgumentException {
+        for (Map.Entry<String, FakeTeam> team : team_states.entrySet()) {
+            if (team.getValue().entries.contains(player.getName()))
+                return teams.get(team.getKey());
+        }
+
+        return null;
+    }
+
+    public Team getTeam(String name) throws IllegalArgumentException {
+        return teams.get(name);
+    }
+
+    public Set<Team> getTeams() {
+        return new HashSet<>(teams.values());
+    }
+
+    public Team registerNewTeam(String name) throws IllegalArgumentException {
+        if (teams.containsKey(name))
+            throw new IllegalArgumentException("Team name '" + name + "' is already in use");
+
+        FakeTeam team = new FakeTeam(name);
+        team_states.put(name, team);
+        teams.put(name, team.proxy);
+        return team.proxy;
+    }
+
+    @Deprecated
+    public Set<OfflinePlayer> getPlayers() {
+        throw new UnsupportedOperationException();
+    }
+
+    public Set<String> getEntries() {
+        Set<String> entries = new HashSet<>();
+
+        for (FakeObjective objective : objective_states.values()) {
+            entries.addAll(objective.scores.keySet());
+        }
+
+        return entries;
+    }
+
+    public void clearSlot(DisplaySlot slot) throws IllegalArgumentException {
+        slots.remove(slot);
+    }
+
+    private static <T> T fake(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(CraftScoreboard.class.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    private static String entryOf(Object entry) {
+        return (entry instanceof OfflinePlayer) ? ((OfflinePlayer) entry).getName() : (String) entry;
+    }
+
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return proxy.getClass().getInterfaces()[0].getSimpleName() + "@" + System.identityHashCode(proxy);
+            default:
+                throw new UnsupportedOperationException(method.toString());
+        }
+    }
+
+    private final class FakeObjective implements InvocationHandler {
+
+        private final Objective proxy = fake(Objective.class, this);
+        private final String name;
+        private final String criteria;
+        private final Map<String, Integer> scores = new HashMap<>();
+        private String display;
+
+        private FakeObjective(String name, String criteria) {
+            this.name = name;
+            this.criteria = criteria;
+            this.display = name;
+        }
+
+        private void checkState() {
+            if (objective_states.get(name) != this)
+                throw new IllegalStateException("Unregistered scoreboard component");
+        }
+
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "getName":
+                    checkState();
+                    return name;
+                case "getDisplayName":
+                    checkState();
+                    return display;
+                case "setDisplayName":
+                    checkState();
+                    display = (String) args[0];
+                    return null;
+                case "getCriteria":
+                    checkState();
+                    return criteria;
+                case "isModifiable":
+                    checkState();
+                    return criteria.equals("dummy");
+                case "getScoreboard":
+                    return CraftScoreboard.this;
+                case "getScore":
+                    checkState();
+                    return new FakeScore(this, entryOf(args[0])).proxy;
+                case "setDisplaySlot":
+                    checkState();
+                    slots.values().remove(name);
+
+                    if (args[0] != null)
+                        slots.put((DisplaySlot) args[0], name);
+
+                    return null;
+                case "getDisplaySlot":
+                    checkState();
+
+                    for (Map.Entry<DisplaySlot, String> slot : slots.entrySet()) {
+                        if (slot.getValue().equals(name))
+                            return slot.getKey();
+                    }
+
+                    return null;
+                case "unregister":
+                    checkState();
+                    objective_states.remove(name);
+                    objectives.remove(name);
+                    slots.values().remove(name);
+                    return null;
+                default:
+                    return identity(proxy, method, args);
+            }
+        }
+    }
+
+    private final class FakeScore implements InvocationHandler {
+
+        private final Score proxy = fake(Score.class, this);
+        private final FakeObjective objective;
+        private final String entry;
+
+        private FakeScore(FakeObjective objective, String entry) {
+            this.objective = objective;
+            this.entry = entry;
+        }
+
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "getEntry":
+                    return entry;
+                case "getObjective":
+                    return objective.proxy;
+                case "getScoreboard":
+                    return CraftScoreboard.this;
+                case "getScore":
+                    objective.checkState();
+                    Integer score = objective.scores.get(entry);
+                    return (score != null) ? score : 0;
+                case "setScore":
+                    objective.checkState();
+                    objective.scores.put(entry, (Integer) args[0]);
+                    return null;
+                default:
+                    return identity(proxy, method, args);
+            }
+        }
+    }
+
+    private final class FakeTeam implements InvocationHandler {
+
+        private final Team proxy = fake(Team.class, this);
+        private final String name;
+        private final Set<String> entries = new LinkedHashSet<>();
+        private final Map<String, Object> properties = new HashMap<>();
+
+        private FakeTeam(String name) {
+            this.name = name;
+        }
+
+        private void checkState() {
+            if (team_states.get(name) != this)
+                throw new IllegalStateException("Unregistered scoreboard component");
+        }
+
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            String property = method.getName().replaceFirst("^(get|set|allow|can)", "");
+
+            switch (method.getName()) {
+                case "getName":
+                    checkState();
+                    return name;
+                case "getScoreboard":
+                    return CraftScoreboard.this;
+                case "getEntries":
+                    checkState();
+                    return new HashSet<>(entries);
+                case "getSize":
+                    checkState();
+                    return entries.size();
+                case "hasEntry":
+                case "hasPlayer":
+                    checkState();
+                    return entries.contains(entryOf(args[0]));
+                case "addEntry":
+                case "addPlayer":
+                    checkState();
+
+                    // An entry is on one Team at most, as on the server
+                    for (FakeTeam team : team_states.values()) {
+                        team.entries.remove(entryOf(args[0]));
+                    }
+
+                    entries.add(entryOf(args[0]));
+                    return null;
+                case "removeEntry":
+                case "removePlayer":
+                    checkState();
+                    return entries.remove(entryOf(args[0]));
+                case "unregister":
+                    checkState();
+                    team_states.remove(name);
+                    teams.remove(name);
+                    return null;
+                case "getDisplayName":
+                case "getPrefix":
+                case "getSuffix":
+                    checkState();
+                    return properties.get(property);
+                case "allowFriendlyFire":
+                case "canSeeFriendlyInvisibles":
+                    checkState();
+                    return Boolean.TRUE.equals(properties.get(property));
+                case "setDisplayName":
+                case "setPrefix":
+                case "setSuffix":
+                case "setAllowFriendlyFire":
+                case "setCanSeeFriendlyInvisibles":
+                    checkState();
+                    properties.put(property.replaceFirst("^(Allow|Can)", ""), args[0]);
+                    return null;
+                default:
+                    return identity(proxy, method, args);
+            }
+        }
+    }
+}